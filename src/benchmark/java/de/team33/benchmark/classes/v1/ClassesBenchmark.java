@@ -0,0 +1,74 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClassesBenchmark {
+
+    @Param({"JDK", "DEEP", "WIDE"})
+    public Hierarchy hierarchy;
+
+    private Class<?> subject;
+    private Class<?> root;
+    private Class<?> parent;
+
+    @Setup
+    public void setup() {
+        subject = hierarchy.subject();
+        root = Hierarchy.root(subject);
+        parent = Classes.superior(subject).findFirst().orElse(subject);
+    }
+
+    @Benchmark
+    public boolean isLineage() {
+        return Classes.isLineage(root, subject);
+    }
+
+    @Benchmark
+    public int distance() {
+        return Classes.distance(root, subject);
+    }
+
+    @Benchmark
+    public Object commonSuperclass() {
+        return Classes.commonSuperclass(subject, parent);
+    }
+
+    @Benchmark
+    public Object commonSupertypes() {
+        return Classes.commonSupertypes(subject, parent);
+    }
+
+    @Benchmark
+    public Object findAnnotation() {
+        return Classes.findAnnotation(subject, FunctionalInterface.class);
+    }
+
+    @Benchmark
+    public void superior(final Blackhole blackhole) {
+        Classes.superior(subject).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void lineageClasses(final Blackhole blackhole) {
+        Classes.lineageClasses(subject).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void lineageHierarchy(final Blackhole blackhole) {
+        Classes.lineageHierarchy(subject).forEach(blackhole::consume);
+    }
+}
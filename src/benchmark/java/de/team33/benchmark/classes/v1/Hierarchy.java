@@ -0,0 +1,52 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Lineage;
+import de.team33.test.classes.v1.SyntheticClasses;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * The class hierarchies the benchmarks are run against.
+ */
+public enum Hierarchy {
+
+    /**
+     * A common JDK class.
+     */
+    JDK(() -> ArrayList.class),
+
+    /**
+     * A synthetic chain of 100 classes.
+     */
+    DEEP(() -> Synthetic.CLASSES.deepClasses(100)),
+
+    /**
+     * A synthetic, diamond-shaped hierarchy of 16 layers of two interfaces each.
+     */
+    WIDE(() -> Synthetic.CLASSES.diamonds(16, 2));
+
+    private final Supplier<Class<?>> newSubject;
+
+    Hierarchy(final Supplier<Class<?>> newSubject) {
+        this.newSubject = newSubject;
+    }
+
+    /**
+     * Returns the (new) subject class of this hierarchy.
+     */
+    public final Class<?> subject() {
+        return newSubject.get();
+    }
+
+    /**
+     * Returns the root of the {@link Lineage} of a given subject, which is its most distant ancestor.
+     */
+    public static Class<?> root(final Class<?> subject) {
+        return Lineage.of(subject).get(0);
+    }
+
+    private static final class Synthetic {
+        private static final SyntheticClasses CLASSES = new SyntheticClasses();
+    }
+}
@@ -0,0 +1,92 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Lineage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LineageBenchmark {
+
+    @Param({"JDK", "DEEP", "WIDE"})
+    public Hierarchy hierarchy;
+
+    private Class<?> subject;
+    private Class<?> root;
+    private Lineage lineage;
+    private Lineage equivalent;
+
+    @Setup
+    public void setup() {
+        subject = hierarchy.subject();
+        root = Hierarchy.root(subject);
+        lineage = Lineage.of(subject);
+        Lineage.evict(subject.getClassLoader());
+        equivalent = Lineage.of(subject);
+    }
+
+    @Benchmark
+    public Lineage ofWarm() {
+        return Lineage.of(subject);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return lineage.contains(root);
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return lineage.contains(String.class);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return lineage.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsEquivalent() {
+        return lineage.equals(equivalent);
+    }
+
+    /**
+     * Measures {@link Lineage#of(Class)} on a cache that was cleared for the class loader of the subject before each
+     * invocation, so the lineages of the subject and its ancestors have to be built.
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public static class Cold {
+
+        @Param({"JDK", "DEEP", "WIDE"})
+        public Hierarchy hierarchy;
+
+        private Class<?> subject;
+
+        @Setup
+        public void setup() {
+            subject = hierarchy.subject();
+        }
+
+        @Setup(Level.Invocation)
+        public void evict() {
+            Lineage.evict(subject.getClassLoader());
+        }
+
+        @Benchmark
+        public Lineage ofCold() {
+            return Lineage.of(subject);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Lineage;
+import de.team33.test.classes.v1.SyntheticClasses;
+import de.team33.test.classes.v1.ThreadKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A scaling harness for cold {@link Lineage#of(Class)} lookups: measures how long a number of threads take to build
+ * the lineages of a fresh set of classes that share most of their ancestors, each thread resolving its own slice of
+ * the classes. Runs with platform threads and, where available, with virtual threads.
+ * <p>
+ * Cold lookups can't be repeated on the same classes, so JMH doesn't fit here. Run it with ...
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=de.team33.benchmark.classes.v1.LineageScaling \
+ *     -Dbenchmark.args="1 2 4 8 16 64"
+ * </pre>
+ * ... where the arguments are the numbers of threads to measure with.
+ */
+public final class LineageScaling {
+
+    private static final int SUBJECTS = 4000;
+    private static final int WARMUPS = 10;
+    private static final int ROUNDS = 7;
+
+    private LineageScaling() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if ((0 == args.length) || !Arrays.stream(args).allMatch(arg -> arg.matches("[1-9][0-9]*"))) {
+            System.err.println("Usage: LineageScaling <threads> [<threads> ...]");
+            System.exit(1);
+        }
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final int[] counts = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("# Java %s, %d CPU(s), %d classes per round, median of %d rounds%n",
+                          System.getProperty("java.version"), cores, SUBJECTS, ROUNDS);
+        for (int round = 0; round < WARMUPS; ++round) {
+            coldStart(ThreadKind.PLATFORM, 1, newSubjects());
+        }
+        System.out.printf("%-8s %7s %12s %10s%n", "kind", "threads", "ms/round", "speed-up");
+        for (final ThreadKind kind : ThreadKind.values()) {
+            if (kind.isAvailable()) {
+                double single = 0;
+                for (final int threads : counts) {
+                    final double millis = median(kind, threads);
+                    single = (0 == single) ? millis : single;
+                    System.out.printf("%-8s %7d %12.3f %10.2f%n", kind, threads, millis, single / millis);
+                }
+            }
+        }
+    }
+
+    private static double median(final ThreadKind kind, final int threads) throws Exception {
+        coldStart(kind, threads, newSubjects());
+        final double[] results = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; ++round) {
+            results[round] = coldStart(kind, threads, newSubjects()) / 1e6;
+        }
+        Arrays.sort(results);
+        return results[ROUNDS / 2];
+    }
+
+    private static List<Class<?>> newSubjects() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Class<?> trunk = synthetic.deepClasses(50);
+        final Class<?>[] mixins = {synthetic.deepInterfaces(10), synthetic.deepInterfaces(3), synthetic.newInterface()};
+        final List<Class<?>> result = new ArrayList<>(SUBJECTS);
+        for (int index = 0; index < SUBJECTS; ++index) {
+            final Class<?> parent = synthetic.newClass(trunk, mixins[index % mixins.length]);
+            result.add(synthetic.newClass(parent, mixins[(index + 1) % mixins.length]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the nanoseconds it takes a given number of threads to build the lineages of the given classes.
+     */
+    private static long coldStart(final ThreadKind kind, final int threads, final List<Class<?>> subjects)
+            throws Exception {
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = kind.newExecutor(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(threads);
+            for (int thread = 0; thread < threads; ++thread) {
+                final int first = thread;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    for (int index = first; index < subjects.size(); index += threads) {
+                        Lineage.of(subjects.get(index));
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            final long begin = System.nanoTime();
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Overloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a cached resolution of the overloads of {@link StringBuilder}{@code .append(..)} with one that has to
+ * examine all candidates, as a fresh {@link Overloads} instance does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OverloadsBenchmark {
+
+    @Param({"java.lang.String", "short", "java.lang.Integer"})
+    public String argument;
+
+    private Class<?>[] arguments;
+    private List<Method> methods;
+    private Overloads<Method> overloads;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        arguments = new Class<?>[]{"short".equals(argument) ? short.class : Class.forName(argument)};
+        overloads = Overloads.methods(StringBuilder.class, "append");
+        methods = new ArrayList<>(overloads.getExecutables());
+        overloads.resolve(arguments);
+    }
+
+    @Benchmark
+    public Object resolveCached() {
+        return overloads.resolve(arguments);
+    }
+
+    @Benchmark
+    public Object resolveUncached() {
+        return new Overloads<>(methods).resolve(arguments);
+    }
+}
@@ -0,0 +1,90 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.test.classes.v1.SyntheticClasses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting classes from the most specific to the most general one via {@link Classes#specificity()} with
+ * an insertion sort based on pairwise {@link Classes#isLineage(Class, Class)} tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificityBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<Class<?>> classes;
+
+    /**
+     * Defines a random forest of classes and interfaces, each class extending a random previous class and
+     * implementing a random previous interface, if any.
+     */
+    @Setup
+    public void setup() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Random random = new Random(0);
+        final List<Class<?>> superClasses = new ArrayList<>(Collections.singletonList(Object.class));
+        final List<Class<?>> interfaces = new ArrayList<>();
+        classes = new ArrayList<>(size);
+        for (int index = 0; index < size; ++index) {
+            final Class<?> result;
+            if (interfaces.isEmpty() || (0 == random.nextInt(3))) {
+                result = synthetic.newInterface();
+                interfaces.add(result);
+            } else {
+                result = synthetic.newClass(superClasses.get(random.nextInt(superClasses.size())),
+                                            interfaces.get(random.nextInt(interfaces.size())));
+                superClasses.add(result);
+            }
+            classes.add(result);
+        }
+        Collections.shuffle(classes, random);
+        sort();
+    }
+
+    @Benchmark
+    public Object sort() {
+        final List<Class<?>> result = new ArrayList<>(classes);
+        result.sort(Classes.specificity());
+        return result;
+    }
+
+    @Benchmark
+    public Object sortBySpecificity() {
+        final List<Class<?>> result = new ArrayList<>(classes);
+        Classes.sortBySpecificity(result);
+        return result;
+    }
+
+    /**
+     * For comparison, inserts each class before the first superordinate class that is already in place.
+     */
+    @Benchmark
+    public Object sortByIsLineage() {
+        final List<Class<?>> result = new ArrayList<>(classes.size());
+        for (final Class<?> type : classes) {
+            int index = 0;
+            while ((index < result.size()) && !Classes.isLineage(result.get(index), type)) {
+                ++index;
+            }
+            result.add(index, type);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the predefined {@link Classes.Streaming} functions in typical sequential and parallel pipelines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StreamingBenchmark {
+
+    @Param({"JDK", "DEEP", "WIDE"})
+    public Hierarchy hierarchy;
+
+    @Param({"SUPER_CLASS", "INTERFACES", "SUPERIOR", "LINEAGE_CLASSES", "LINEAGE_HIERARCHY"})
+    public String streaming;
+
+    private Class<?> subject;
+    private Classes.Streaming function;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        subject = hierarchy.subject();
+        function = (Classes.Streaming) Classes.Streaming.class.getField(streaming).get(null);
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return function.apply(subject).toArray();
+    }
+
+    @Benchmark
+    public long distinctCount() {
+        return function.apply(subject).distinct().count();
+    }
+
+    @Benchmark
+    public Object[] parallelToArray() {
+        return function.apply(subject).parallel().toArray();
+    }
+}
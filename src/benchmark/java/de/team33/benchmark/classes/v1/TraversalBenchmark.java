@@ -0,0 +1,60 @@
+package de.team33.benchmark.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares a traversal via {@link Lineage#forEachAncestor(Lineage.Order, Predicate)} with the equivalent stream
+ * pipeline, each searching for the nearest superior of the subject. Run it with {@code -prof gc} to see the
+ * allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TraversalBenchmark {
+
+    @Param({"JDK", "DEEP", "WIDE"})
+    public Hierarchy hierarchy;
+
+    @Param({"HIERARCHY", "NEAREST_FIRST", "SUPERCLASSES_FIRST"})
+    public Lineage.Order order;
+
+    private Lineage lineage;
+    private Predicate<Class<?>> continueWhile;
+    private Predicate<Class<?>> isTarget;
+
+    @Setup
+    public void setup() {
+        final Class<?> subject = hierarchy.subject();
+        final Class<?> target = Classes.superior(subject).findFirst().orElse(subject);
+        lineage = Lineage.of(subject);
+        lineage.forEachAncestor(order, type -> true);
+        continueWhile = type -> type != target;
+        isTarget = type -> type == target;
+    }
+
+    @Benchmark
+    public boolean forEachAncestor() {
+        return lineage.forEachAncestor(order, continueWhile);
+    }
+
+    /**
+     * For comparison, the stream pipeline that finds the same class. It always runs in {@link Lineage.Order#HIERARCHY
+     * hierarchy order}, regardless of {@link #order}.
+     */
+    @Benchmark
+    public Object streamFindFirst() {
+        return lineage.stream().filter(isTarget).findFirst();
+    }
+}
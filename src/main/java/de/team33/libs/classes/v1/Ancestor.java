@@ -0,0 +1,52 @@
+package de.team33.libs.classes.v1;
+
+/**
+ * A class from the lineage hierarchy of some subject class along with its {@link Classes#distance(Class, Class)
+ * distance} to that subject.
+ *
+ * @see Classes#byDistance(Class)
+ */
+public final class Ancestor {
+
+    private final Class<?> type;
+    private final int distance;
+
+    Ancestor(final Class<?> type, final int distance) {
+        this.type = type;
+        this.distance = distance;
+    }
+
+    /**
+     * Returns the class itself.
+     */
+    public final Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the distance of the class to the subject, 0 for the subject itself.
+     */
+    public final int getDistance() {
+        return distance;
+    }
+
+    @Override
+    public final int hashCode() {
+        return type.hashCode() * 31 + distance;
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Ancestor))
+            return false;
+        final Ancestor other = (Ancestor) obj;
+        return (type == other.type) && (distance == other.distance);
+    }
+
+    @Override
+    public final String toString() {
+        return type.getName() + "@" + distance;
+    }
+}
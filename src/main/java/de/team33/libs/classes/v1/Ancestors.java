@@ -0,0 +1,221 @@
+package de.team33.libs.classes.v1;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+
+/**
+ * A compact, immutable index of the classes of a lineage and their minimal distances to its subject.
+ * <p>
+ * The classes are held in an array along with their distances, distinct and in the order of
+ * {@link Classes#lineageHierarchy(Class)}. Small indices are searched linearly. Larger ones additionally have an
+ * open addressing table that maps each class by identity to its position within the array. Either way, lookups
+ * don't allocate. Distances and table entries are stored as {@code char}s unless they don't fit.
+ */
+final class Ancestors {
+
+    /**
+     * Up to this size, a linear search is not slower than a hash lookup, so no table is needed.
+     */
+    private static final int LINEAR_LIMIT = 8;
+
+    /**
+     * Up to this value, distances and table entries are stored as {@code char}s, which practically always applies.
+     */
+    private static final int NARROW_LIMIT = Character.MAX_VALUE;
+
+    private final Class<?>[] classes;
+    private final char[] distances;
+    private final char[] slots;
+    private final int[] wideDistances;
+    private final int[] wideSlots;
+
+    private Ancestors(final Class<?>[] classes, final int[] distances, final int[] slots) {
+        final boolean narrow = (NARROW_LIMIT > classes.length) && (NARROW_LIMIT >= max(distances));
+        this.classes = classes;
+        this.distances = narrow ? narrow(distances) : null;
+        this.slots = (narrow && (null != slots)) ? narrow(slots) : null;
+        this.wideDistances = narrow ? null : distances;
+        this.wideSlots = narrow ? null : slots;
+    }
+
+    static Ancestors of(final Class<?> subject, final List<Ancestors> superior) {
+        int capacity = 1;
+        for (final Ancestors ancestors : superior) {
+            capacity += ancestors.classes.length;
+        }
+        final Builder builder = new Builder(capacity);
+        for (final Ancestors ancestors : superior) {
+            for (int index = 0; index < ancestors.classes.length; ++index) {
+                builder.merge(ancestors.classes[index], ancestors.distanceAt(index) + 1);
+            }
+        }
+        builder.merge(subject, 0);
+        return builder.build();
+    }
+
+    private static int max(final int[] values) {
+        int result = 0;
+        for (final int value : values) {
+            result = Math.max(result, value);
+        }
+        return result;
+    }
+
+    private static char[] narrow(final int[] values) {
+        final char[] result = new char[values.length];
+        for (int index = 0; index < values.length; ++index) {
+            result[index] = (char) values[index];
+        }
+        return result;
+    }
+
+    private static int tableSize(final int capacity) {
+        return Integer.highestOneBit(Math.max(1, capacity + (capacity >> 1))) << 1;
+    }
+
+    private static int hash(final Class<?> type) {
+        final int hash = type.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static void insert(final int[] slots, final Class<?> type, final int index) {
+        final int mask = slots.length - 1;
+        int slot = hash(type) & mask;
+        while (0 != slots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    private static int indexOf(final Class<?>[] classes, final int[] slots, final Class<?> type) {
+        final int mask = slots.length - 1;
+        for (int slot = hash(type) & mask; 0 != slots[slot]; slot = (slot + 1) & mask) {
+            final int index = slots[slot] - 1;
+            if (type == classes[index]) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(final Class<?>[] classes, final char[] slots, final Class<?> type) {
+        final int mask = slots.length - 1;
+        for (int slot = hash(type) & mask; 0 != slots[slot]; slot = (slot + 1) & mask) {
+            final int index = slots[slot] - 1;
+            if (type == classes[index]) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int linearIndexOf(final Class<?>[] classes, final Class<?> type) {
+        if (null == type) {
+            throw new NullPointerException("<type> must not be null");
+        }
+        for (int index = 0; index < classes.length; ++index) {
+            if (type == classes[index]) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of a given class within this index or {@code -1} if not contained.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    final int indexOf(final Class<?> type) {
+        if (null != slots) {
+            return indexOf(classes, slots, type);
+        }
+        if (null != wideSlots) {
+            return indexOf(classes, wideSlots, type);
+        }
+        return linearIndexOf(classes, type);
+    }
+
+    final int size() {
+        return classes.length;
+    }
+
+    final Class<?> get(final int index) {
+        return classes[index];
+    }
+
+    final Spliterator<Class<?>> spliterator() {
+        return Spliterators.spliterator(classes, Basics.DISTINCT_CLASSES);
+    }
+
+    final int distance(final Class<?> type) {
+        final int index = indexOf(type);
+        return (0 > index) ? -1 : distanceAt(index);
+    }
+
+    final int distanceAt(final int index) {
+        return (null == distances) ? wideDistances[index] : distances[index];
+    }
+
+    /**
+     * Returns the positions of all classes of this index, ordered by ascending distance. On equal distance, classes
+     * precede interfaces and otherwise, the order of this index is retained. If {@code classesFirst} is requested,
+     * all classes precede all interfaces, regardless of their distance.
+     */
+    final int[] nearestFirst(final boolean classesFirst) {
+        final long[] keys = new long[classes.length];
+        for (int index = 0; index < keys.length; ++index) {
+            final long isInterface = classes[index].isInterface() ? 1L : 0L;
+            final long distance = distanceAt(index);
+            keys[index] = (classesFirst ? (isInterface << 62) | (distance << 32)
+                                        : (distance << 32) | (isInterface << 31)) | index;
+        }
+        Arrays.sort(keys);
+        final int[] result = new int[keys.length];
+        for (int index = 0; index < keys.length; ++index) {
+            result[index] = (int) (keys[index] & Integer.MAX_VALUE);
+        }
+        return result;
+    }
+
+    private static final class Builder {
+
+        private final Class<?>[] classes;
+        private final int[] distances;
+        private final int[] slots;
+        private int size;
+
+        private Builder(final int capacity) {
+            this.classes = new Class<?>[capacity];
+            this.distances = new int[capacity];
+            this.slots = new int[tableSize(capacity)];
+        }
+
+        private void merge(final Class<?> type, final int distance) {
+            final int index = indexOf(classes, slots, type);
+            if (0 > index) {
+                classes[size] = type;
+                distances[size] = distance;
+                insert(slots, type, size++);
+            } else if (distance < distances[index]) {
+                distances[index] = distance;
+            }
+        }
+
+        private Ancestors build() {
+            final Class<?>[] resultClasses = Arrays.copyOf(classes, size);
+            final int[] resultDistances = Arrays.copyOf(distances, size);
+            if (size <= LINEAR_LIMIT) {
+                return new Ancestors(resultClasses, resultDistances, null);
+            }
+            final int[] resultSlots = new int[tableSize(size)];
+            for (int index = 0; index < size; ++index) {
+                insert(resultSlots, resultClasses[index], index);
+            }
+            return new Ancestors(resultClasses, resultDistances, resultSlots);
+        }
+    }
+}
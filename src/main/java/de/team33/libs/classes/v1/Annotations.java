@@ -0,0 +1,73 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Holds the annotations of the {@link Lineage} of a particular class, grouped by their
+ * {@link Annotation#annotationType() type} and ordered by nearness, i.e. in {@link Lineage.Order#NEAREST_FIRST}.
+ * <p>
+ * The table of a class is built once when first needed and cached just like {@link Lineage lineages}: it dies with
+ * its class and is evicted along with it by {@link Lineage#evict(ClassLoader)}. As the table is complete, it answers
+ * any question about a particular annotation type by a single lookup, negative ones included.
+ *
+ * @see Classes#findAnnotation(Class, Class)
+ * @see Classes#findAllAnnotations(Class, Class)
+ */
+final class Annotations {
+
+    private static final ClassCache<Annotations> CACHE = new ClassCache<>(Annotations::new);
+
+    private final Map<Class<? extends Annotation>, List<Annotation>> byType;
+
+    private Annotations(final Class<?> subject) {
+        final Lineage lineage = Lineage.lookup(subject);
+        final Map<Class<? extends Annotation>, List<Annotation>> grouped = new HashMap<>(0);
+        for (final int index : lineage.nearestFirst()) {
+            for (final Annotation annotation : lineage.get(index).getDeclaredAnnotations()) {
+                grouped.computeIfAbsent(annotation.annotationType(), key -> new ArrayList<>(1)).add(annotation);
+            }
+        }
+        grouped.replaceAll((type, annotations) -> Collections.unmodifiableList(
+                Arrays.asList(annotations.toArray(new Annotation[annotations.size()]))));
+        this.byType = grouped.isEmpty() ? Collections.emptyMap() : grouped;
+    }
+
+    /**
+     * Retrieves the annotation table of a given class.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    static Annotations of(final Class<?> subject) {
+        return CACHE.get(subject);
+    }
+
+    /**
+     * Evicts the cached annotation tables of all classes defined by a given {@link ClassLoader}.
+     *
+     * @see Lineage#evict(ClassLoader)
+     */
+    static void evict(final ClassLoader loader) {
+        CACHE.evict(loader);
+    }
+
+    /**
+     * Returns the annotations of a given type, nearest first, as an immutable list.
+     */
+    @SuppressWarnings("unchecked")
+    final <A extends Annotation> List<A> get(final Class<A> type) {
+        final List<Annotation> result = byType.get(type);
+        if (null == result) {
+            if (null == type)
+                throw new NullPointerException("<type> must not be null");
+            return Collections.emptyList();
+        }
+        return (List<A>) result;
+    }
+}
@@ -1,17 +1,56 @@
 package de.team33.libs.classes.v1;
 
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 class Basics {
 
-    static <E> Stream<E> streamOfNullable(final E subject) {
-        return (null == subject) ? Stream.empty() : Stream.of(subject);
+    private static final Class<?>[] NO_CLASSES = {};
+
+    /**
+     * The characteristics of a {@link Stream} of distinct classes, served from an array: exact size, distinct,
+     * ordered, non-null and immutable. An array based {@link Spliterator} also splits evenly.
+     */
+    static final int DISTINCT_CLASSES =
+            Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    /**
+     * Streams an array of distinct classes, which must not be modified afterwards.
+     */
+    static Stream<Class<?>> streamOfDistinct(final Class<?>[] classes) {
+        return StreamSupport.stream(Spliterators.spliterator(classes, DISTINCT_CLASSES), false);
+    }
+
+    static Stream<Class<?>> streamOfSuperclass(final Class<?> subject) {
+        final Class<?> superClass = subject.getSuperclass();
+        return streamOfDistinct((null == superClass) ? NO_CLASSES : new Class<?>[]{superClass});
+    }
+
+    static Stream<Class<?>> streamOfInterfaces(final Class<?> subject) {
+        // A class can't implement an interface twice directly, and getInterfaces() results in a copy ...
+        return streamOfDistinct(subject.getInterfaces());
     }
 
     static Stream<Class<?>> streamOfSuperior(final Class<?> subject) {
-        return (null == subject)
-                ? Stream.empty()
-                : Stream.concat(Stream.of(subject.getInterfaces()), streamOfNullable(subject.getSuperclass()));
+        return (null == subject) ? Stream.empty() : streamOfDistinct(superior(subject));
+    }
+
+    /**
+     * Determines all the direct {@link Class#getInterfaces() interfaces} and, if any, the direct
+     * {@link Class#getSuperclass() superclass} of a given {@link Class}, which are always distinct.
+     */
+    static Class<?>[] superior(final Class<?> subject) {
+        final Class<?>[] interfaces = subject.getInterfaces();
+        final Class<?> superClass = subject.getSuperclass();
+        if (null == superClass) {
+            return interfaces;
+        }
+        final Class<?>[] result = Arrays.copyOf(interfaces, interfaces.length + 1);
+        result[interfaces.length] = superClass;
+        return result;
     }
 }
@@ -0,0 +1,77 @@
+package de.team33.libs.classes.v1;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+
+/**
+ * A {@link Spliterator} that serves the classes of a {@link Lineage} as {@link Ancestor}s in
+ * {@link Lineage.Order#NEAREST_FIRST}, as retained along with the lineage. An {@link Ancestor} is not created
+ * before it is requested.
+ */
+final class ByDistance implements Spliterator<Ancestor> {
+
+    /**
+     * Exact size, distinct (each class occurs once), ordered, non-null and immutable. Splits evenly.
+     */
+    private static final int CHARACTERISTICS =
+            DISTINCT | ORDERED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+
+    private final Lineage lineage;
+    private final int[] indices;
+    private int position;
+    private final int end;
+
+    ByDistance(final Lineage lineage) {
+        this(lineage, lineage.nearestFirst(), 0, lineage.size());
+    }
+
+    private ByDistance(final Lineage lineage, final int[] indices, final int position, final int end) {
+        this.lineage = lineage;
+        this.indices = indices;
+        this.position = position;
+        this.end = end;
+    }
+
+    private Ancestor ancestorAt(final int position) {
+        final int index = indices[position];
+        return new Ancestor(lineage.get(index), lineage.distanceAt(index));
+    }
+
+    @Override
+    public final boolean tryAdvance(final Consumer<? super Ancestor> action) {
+        if (position < end) {
+            action.accept(ancestorAt(position++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public final void forEachRemaining(final Consumer<? super Ancestor> action) {
+        while (position < end) {
+            action.accept(ancestorAt(position++));
+        }
+    }
+
+    @Override
+    public final Spliterator<Ancestor> trySplit() {
+        final int middle = (position + end) >>> 1;
+        if (middle <= position) {
+            return null;
+        }
+        final Spliterator<Ancestor> result = new ByDistance(lineage, indices, position, middle);
+        position = middle;
+        return result;
+    }
+
+    @Override
+    public final long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public final int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
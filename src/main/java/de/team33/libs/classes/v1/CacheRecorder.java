@@ -0,0 +1,67 @@
+package de.team33.libs.classes.v1;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * Records the statistics of a {@link ClassCache}.
+ */
+final class CacheRecorder {
+
+    /**
+     * Per thread: the time spent in nested builds and the number of builds so far.
+     */
+    private static final ThreadLocal<long[]> NESTED = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder buildTime = new LongAdder();
+    private final LongAccumulator maxBuildTime = new LongAccumulator(Math::max, 0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * Serves a request and counts it as a hit if it didn't cause any entry to be built.
+     */
+    final <V> V request(final Supplier<V> lookup) {
+        final long[] nested = NESTED.get();
+        final long builds = nested[1];
+        final V result = lookup.get();
+        if (builds == nested[1]) {
+            hits.increment();
+        }
+        return result;
+    }
+
+    final void evicted() {
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * Builds a new entry and records the time spent, excluding the time spent in nested builds.
+     */
+    final <V> V build(final Supplier<V> newValue) {
+        final long[] nested = NESTED.get();
+        final long outer = nested[0];
+        nested[0] = 0;
+        final long start = System.nanoTime();
+        try {
+            return newValue.get();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final long own = elapsed - nested[0];
+            nested[0] = outer + elapsed;
+            nested[1] += 1;
+            misses.increment();
+            buildTime.add(own);
+            maxBuildTime.accumulate(own);
+        }
+    }
+
+    final CacheStatistics snapshot(final int entries) {
+        return new CacheStatistics(hits.sum(), misses.sum(), entries,
+                                   buildTime.sum(), maxBuildTime.get(), evictions.get());
+    }
+}
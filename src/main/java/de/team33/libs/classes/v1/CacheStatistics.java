@@ -0,0 +1,83 @@
+package de.team33.libs.classes.v1;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the statistics of a cache, e.g. the cache behind {@link Lineage#of(Class)}.
+ *
+ * @see Lineage#enableStatistics()
+ * @see Lineage#statistics()
+ */
+public final class CacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final int entries;
+    private final long buildTime;
+    private final long maxBuildTime;
+    private final long evictions;
+
+    CacheStatistics(final long hits, final long misses, final int entries,
+                    final long buildTime, final long maxBuildTime, final long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = entries;
+        this.buildTime = buildTime;
+        this.maxBuildTime = maxBuildTime;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns the number of requests that could be served from the cache, e.g. calls to {@link Lineage#of(Class)}.
+     * Lookups this library makes for itself, e.g. while building a lineage or answering a query of {@link Classes},
+     * are not counted.
+     */
+    public final long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of entries that had to be built, including those of superordinate classes that were
+     * built along with a requested one.
+     */
+    public final long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries at the time of this snapshot.
+     */
+    public final int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the cumulative time, in nanoseconds, spent in building entries.
+     */
+    public final long getBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Returns the maximum time, in nanoseconds, spent in building a single entry.
+     */
+    public final long getMaxBuildTime() {
+        return maxBuildTime;
+    }
+
+    /**
+     * Returns the number of entries that were evicted explicitly or due to a limit.
+     */
+    public final long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("CacheStatistics(hits=%d, misses=%d, entries=%d, buildTime=%dµs, maxBuildTime=%dµs, " +
+                             "evictions=%d)",
+                             hits, misses, entries,
+                             TimeUnit.NANOSECONDS.toMicros(buildTime), TimeUnit.NANOSECONDS.toMicros(maxBuildTime),
+                             evictions);
+    }
+}
@@ -0,0 +1,224 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+/**
+ * Associates values with classes without keeping the classes (and thus their class loaders) reachable.
+ * <p>
+ * The values are held by a {@link ClassValue}, so reading is lock-free and an entry dies with its class.
+ * In addition, the cached classes are tracked by weak references, so that entries can be evicted explicitly
+ * per {@link ClassLoader} or implicitly, oldest first, when a size limit is exceeded.
+ * <p>
+ * The order of insertion is only tracked once a limit has been set, so an unlimited cache holds no more than one
+ * weak key per entry. Entries that were cached before are then considered older than any later one.
+ */
+final class ClassCache<V> {
+
+    private final ClassValue<V> values;
+    private final Map<Key, Boolean> keys = new ConcurrentHashMap<>(0);
+    private final Queue<Key> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger orderSize = new AtomicInteger(0);
+    private final ReferenceQueue<Class<?>> collected = new ReferenceQueue<>();
+    private volatile int limit = Integer.MAX_VALUE;
+    private volatile boolean ordered = false;
+    private volatile CacheRecorder recorder = null;
+
+    ClassCache(final Function<Class<?>, V> newValue) {
+        this.values = new ClassValue<V>() {
+            @Override
+            protected V computeValue(final Class<?> type) {
+                final CacheRecorder recorder = ClassCache.this.recorder;
+                final V result = (null == recorder)
+                        ? newValue.apply(type)
+                        : recorder.build(() -> newValue.apply(type));
+                register(type);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the value for a given class on behalf of a client, counting the request in the statistics while
+     * recording.
+     */
+    final V request(final Class<?> type) {
+        final CacheRecorder recorder = this.recorder;
+        return (null == recorder) ? values.get(type) : recorder.request(() -> values.get(type));
+    }
+
+    /**
+     * Retrieves the value for a given class without counting a request, e.g. on behalf of the library itself.
+     * Building a missing value is still recorded.
+     */
+    final V get(final Class<?> type) {
+        return values.get(type);
+    }
+
+    /**
+     * Determines whether a value for a given class has been computed and not yet been evicted. Does not compute a
+     * value itself.
+     */
+    final boolean contains(final Class<?> type) {
+        return keys.containsKey(new Key(type, null));
+    }
+
+    final int size() {
+        expunge();
+        return keys.size();
+    }
+
+    /**
+     * Returns the classes for which values are currently cached.
+     */
+    final List<Class<?>> types() {
+        expunge();
+        final List<Class<?>> result = new ArrayList<>(keys.size());
+        for (final Key key : keys.keySet()) {
+            final Class<?> type = key.get();
+            if (null != type) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Starts recording statistics, unless already recording.
+     */
+    final synchronized void record() {
+        if (null == recorder) {
+            recorder = new CacheRecorder();
+        }
+    }
+
+    /**
+     * Stops recording statistics and discards the statistics recorded so far.
+     */
+    final synchronized void unrecord() {
+        recorder = null;
+    }
+
+    final CacheStatistics statistics() {
+        final CacheRecorder recorder = this.recorder;
+        return (null == recorder) ? new CacheStatistics(0, 0, size(), 0, 0, 0) : recorder.snapshot(size());
+    }
+
+    final void limit(final int maxSize) {
+        if (1 > maxSize)
+            throw new IllegalArgumentException("maxSize must be positive but was " + maxSize);
+        startOrdering();
+        limit = maxSize;
+        trim();
+    }
+
+    private synchronized void startOrdering() {
+        if (!ordered) {
+            ordered = true;
+            expunge();
+            for (final Key key : keys.keySet()) {
+                order.add(key);
+                orderSize.incrementAndGet();
+            }
+        }
+    }
+
+    final void evict(final ClassLoader loader) {
+        expunge();
+        keys.keySet().forEach(key -> {
+            final Class<?> type = key.get();
+            if ((null != type) && (loader == type.getClassLoader())) {
+                remove(key, type);
+            }
+        });
+    }
+
+    private void register(final Class<?> type) {
+        expunge();
+        final Key key = new Key(type, collected);
+        if ((null == keys.putIfAbsent(key, Boolean.TRUE)) && ordered) {
+            order.add(key);
+            orderSize.incrementAndGet();
+            trim();
+        }
+    }
+
+    private void trim() {
+        while (keys.size() > limit) {
+            final Key key = order.poll();
+            if (null == key)
+                return;
+            orderSize.decrementAndGet();
+            final Class<?> type = key.get();
+            if (null != type) {
+                remove(key, type);
+            } else {
+                keys.remove(key);
+            }
+        }
+        if (orderSize.get() > 2 * keys.size() + 64) {
+            compact();
+        }
+    }
+
+    private void remove(final Key key, final Class<?> type) {
+        if (null != keys.remove(key)) {
+            values.remove(type);
+            final CacheRecorder recorder = this.recorder;
+            if (null != recorder) {
+                recorder.evicted();
+            }
+        }
+    }
+
+    private synchronized void compact() {
+        order.removeIf(key -> {
+            final boolean stale = !keys.containsKey(key);
+            if (stale) {
+                orderSize.decrementAndGet();
+            }
+            return stale;
+        });
+    }
+
+    private void expunge() {
+        for (Reference<?> ref = collected.poll(); null != ref; ref = collected.poll()) {
+            keys.remove(ref);
+        }
+    }
+
+    private static final class Key extends WeakReference<Class<?>> {
+
+        private final int hash;
+
+        private Key(final Class<?> type, final ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.hash = System.identityHashCode(type);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            final Class<?> type = get();
+            return (null != type) && (type == ((Key) obj).get());
+        }
+    }
+}
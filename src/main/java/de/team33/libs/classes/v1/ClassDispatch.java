@@ -0,0 +1,122 @@
+package de.team33.libs.classes.v1;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A registry of values associated with classes or interfaces, that resolves the value registered for the nearest
+ * type from the {@link Lineage} of a given class.
+ * <p>
+ * Typically used to find the handler, serializer, converter etc. that was registered for the closest supertype of
+ * a class. If more than one registered type is part of the lineage of a class, the value is chosen as follows:
+ * <ol>
+ * <li>the type with the least {@link Classes#distance(Class, Class) distance} wins,</li>
+ * <li>on equal distance, a class wins over an interface,</li>
+ * <li>on equal distance between interfaces, the one that comes first in {@link Lineage#stream()} wins
+ * (which generally corresponds to the declaration order of the interfaces).</li>
+ * </ol>
+ * This is the order of {@link Lineage.Order#NEAREST_FIRST}, so the value of the first registered type in that order
+ * is chosen.
+ * The resolved value is cached per class, so repeated lookups are lock-free and cost a single lookup after warm-up.
+ * Any change to the registrations invalidates all resolved values: each change copies the registrations and bumps a
+ * version stamp that is checked on every lookup, so a stale value is resolved again on its next lookup.
+ * <p>
+ * A registry is meant to be mostly static, i.e. set up once and then used for many lookups. It remains correct if
+ * it is changed later on, but each change costs a copy of the registrations and a new resolution per class.
+ *
+ * @param <V> The type of the registered values.
+ */
+public final class ClassDispatch<V> {
+
+    private volatile State<V> state = new State<>(emptyMap(), 0);
+    private final ClassValue<AtomicReference<Resolved<V>>> resolved = new ClassValue<AtomicReference<Resolved<V>>>() {
+        @Override
+        protected AtomicReference<Resolved<V>> computeValue(final Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * Registers a value for a given type and returns the value that was previously registered for that type, if any.
+     *
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public final synchronized Optional<V> put(final Class<?> type, final V value) {
+        final Map<Class<?>, V> registry = new HashMap<>(state.registry);
+        final Optional<V> result = Optional.ofNullable(registry.put(requireNonNull(type), requireNonNull(value)));
+        state = new State<>(registry, state.version + 1);
+        return result;
+    }
+
+    /**
+     * Removes the registration for a given type and returns the value that was registered for that type, if any.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public final synchronized Optional<V> remove(final Class<?> type) {
+        if (!state.registry.containsKey(requireNonNull(type)))
+            return Optional.empty();
+        final Map<Class<?>, V> registry = new HashMap<>(state.registry);
+        final Optional<V> result = Optional.of(registry.remove(type));
+        state = new State<>(registry, state.version + 1);
+        return result;
+    }
+
+    /**
+     * Resolves the value registered for the nearest type from the lineage of a given class, if any.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public final Optional<V> lookup(final Class<?> type) {
+        final State<V> current = state;
+        final AtomicReference<Resolved<V>> slot = resolved.get(type);
+        final Resolved<V> cached = slot.get();
+        if ((null != cached) && (cached.version == current.version))
+            return cached.value;
+        final Optional<V> result = current.resolve(type);
+        // Concurrent lookups may overwrite each other, even with a stale value, which is harmless as the version
+        // is checked on every lookup ...
+        slot.set(new Resolved<>(current.version, result));
+        return result;
+    }
+
+    private static final class Resolved<V> {
+
+        private final long version;
+        private final Optional<V> value;
+
+        private Resolved(final long version, final Optional<V> value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private static final class State<V> {
+
+        private final Map<Class<?>, V> registry;
+        private final long version;
+
+        private State(final Map<Class<?>, V> registry, final long version) {
+            this.registry = unmodifiableMap(registry);
+            this.version = version;
+        }
+
+        private Optional<V> resolve(final Class<?> type) {
+            if (registry.isEmpty())
+                return Optional.empty();
+            final Lineage lineage = Lineage.lookup(type);
+            for (final int index : lineage.nearestFirst()) {
+                final V result = registry.get(lineage.get(index));
+                if (null != result)
+                    return Optional.of(result);
+            }
+            return Optional.empty();
+        }
+    }
+}
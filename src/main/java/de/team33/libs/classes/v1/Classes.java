@@ -1,7 +1,19 @@
 package de.team33.libs.classes.v1;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -10,6 +22,9 @@ import java.util.stream.Stream;
 @SuppressWarnings("WeakerAccess")
 public class Classes {
 
+    private static final Comparator<Class<?>> SPECIFICITY =
+            Comparator.comparingLong(type -> Lineage.lookup(type).rank());
+
     private static final String NO_LINEAGE =
             "there is no proper lineage relationship from <%s> as superclass to <%s> as subclass";
 
@@ -37,7 +52,202 @@ public class Classes {
      * @throws NullPointerException     if one of the given Arguments is {@code null}.
      */
     public static int distance(final Class<?> superClass, final Class<?> subClass) {
-        return Distance.of(superClass).from(subClass);
+        final int result = Lineage.lookup(subClass).distance(superClass);
+        if (0 > result)
+            throw new IllegalArgumentException(String.format(NO_LINEAGE, superClass, subClass));
+        return result;
+    }
+
+    /**
+     * Determines the distance between a class {@code <subClass>} and a superordinate class from its lineage hierarchy
+     * {@code <superClass>} like {@link #distance(Class, Class)} but results in an {@link OptionalInt#empty() empty}
+     * result instead of throwing an exception if there is no such lineage relationship.
+     * <p>
+     * Intended for callers that probe many possibly unrelated pairs of classes.
+     *
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public static OptionalInt optionalDistance(final Class<?> superClass, final Class<?> subClass) {
+        final int result = Lineage.lookup(subClass).distance(superClass);
+        return (0 > result) ? OptionalInt.empty() : OptionalInt.of(result);
+    }
+
+    /**
+     * Determines the most specific class that is a {@link Class#getSuperclass() superclass} of all the given classes
+     * or one of them itself.
+     * <p>
+     * Results in an {@link Optional#empty() empty} result if no classes are given or if there is no such class, in
+     * particular if any of the given classes is an interface (see {@link #isLineage(Class, Class)}).
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public static Optional<Class<?>> commonSuperclass(final Class<?>... classes) {
+        final Lineage[] lineages = lineages(classes);
+        if (0 < lineages.length) {
+            // The lineage of the first class trivially contains its own superclasses ...
+            for (Class<?> type = classes[0]; null != type; type = type.getSuperclass()) {
+                if (!type.isInterface() && isContained(type, lineages, 1)) {
+                    return Optional.of(type);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Determines the minimal set of classes and interfaces that are part of the lineage hierarchies of all the given
+     * classes, that is, all common superordinate classes except those that are superordinate to another one of them.
+     * <p>
+     * The result is ordered from the most specific to the most general class, by {@link Lineage#depth()}.
+     * It is empty if no classes are given or if there is no such class.
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public static Set<Class<?>> commonSupertypes(final Class<?>... classes) {
+        final Lineage[] lineages = lineages(classes);
+        if (0 == lineages.length) {
+            return Collections.emptySet();
+        }
+        // Any class precedes its subclasses within a lineage, so backwards, any minimal class comes first.
+        // The lineage of the first class trivially contains its own classes ...
+        final Lineage first = lineages[0];
+        final List<Lineage> minimal = new ArrayList<>();
+        for (int index = first.size() - 1; 0 <= index; --index) {
+            final Class<?> type = first.get(index);
+            if (isContained(type, lineages, 1) && !isSuperordinate(type, minimal)) {
+                minimal.add(Lineage.lookup(type));
+            }
+        }
+        minimal.sort(Comparator.comparingInt(Lineage::depth).reversed());
+        final Set<Class<?>> result = new LinkedHashSet<>(minimal.size());
+        for (final Lineage lineage : minimal) {
+            result.add(subject(lineage));
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static Lineage[] lineages(final Class<?>[] classes) {
+        final Lineage[] result = new Lineage[classes.length];
+        for (int index = 0; index < classes.length; ++index) {
+            result[index] = Lineage.lookup(classes[index]);
+        }
+        return result;
+    }
+
+    private static Class<?> subject(final Lineage lineage) {
+        return lineage.get(lineage.size() - 1);
+    }
+
+    private static boolean isContained(final Class<?> type, final Lineage[] lineages, final int start) {
+        for (int index = start; index < lineages.length; ++index) {
+            if (!lineages[index].contains(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSuperordinate(final Class<?> type, final List<Lineage> lineages) {
+        for (final Lineage lineage : lineages) {
+            if (lineage.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a {@link Comparator} that orders classes from the most specific to the most general one, consistent
+     * with their lineage hierarchies: any class precedes the proper superordinate classes of its {@link Lineage}.
+     * <p>
+     * <em>Note: The covariance of array types is not part of lineage hierarchies. So e.g.
+     * {@link #isLineage(Class, Class) isLineage(Object[].class, String[].class)} applies, but {@code Object[]} is
+     * not necessarily ordered after {@code String[]}.</em>
+     * <p>
+     * It is a total order: classes are ordered by descending {@link Lineage#depth()} and classes of equal depth,
+     * which are never related, in an arbitrary but fixed order that does not change as long as the classes exist.
+     * Two classes are only equal in terms of this comparator if they are the same class.
+     * <p>
+     * Each comparison is a comparison of two integer ranks that are computed once per class together with its
+     * {@link Lineage}, so sorting n classes costs O(n log n) lookups of cached lineages.
+     * {@link #sortBySpecificity(List)} looks up each rank only once.
+     * The comparator does not accept {@code null} elements.
+     */
+    public static Comparator<Class<?>> specificity() {
+        return SPECIFICITY;
+    }
+
+    /**
+     * Sorts a given list of classes by {@link #specificity()}, looking up the rank of each element only once.
+     *
+     * @throws NullPointerException          if the given Argument or any of its elements is {@code null}.
+     * @throws UnsupportedOperationException if the given list is not modifiable.
+     */
+    public static void sortBySpecificity(final List<Class<?>> classes) {
+        final int size = classes.size();
+        final Class<?>[] source = new Class<?>[size];
+        final long[] keys = new long[size];
+        long least = Long.MAX_VALUE;
+        long greatest = Long.MIN_VALUE;
+        for (int index = 0; index < size; ++index) {
+            source[index] = classes.get(index);
+            keys[index] = Lineage.lookup(source[index]).rank();
+            least = Math.min(least, keys[index]);
+            greatest = Math.max(greatest, keys[index]);
+        }
+        // Each key packs the distance of a rank to the least one and the index of its element, so a primitive sort
+        // determines the order. The distances of ranks typically take some 40 bits ...
+        final int indexBits = bits(size - 1);
+        final long range = greatest - least;
+        if ((range < 0) || (63 < bits(range) + indexBits)) {
+            classes.sort(SPECIFICITY);
+            return;
+        }
+        for (int index = 0; index < size; ++index) {
+            keys[index] = ((keys[index] - least) << indexBits) | index;
+        }
+        Arrays.sort(keys);
+        final long mask = (1L << indexBits) - 1;
+        for (int index = 0; index < size; ++index) {
+            classes.set(index, source[(int) (keys[index] & mask)]);
+        }
+    }
+
+    private static int bits(final long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Finds the nearest annotation of a given type that is declared on a given class or on any superordinate class
+     * or interface from its lineage hierarchy.
+     * <p>
+     * Other than {@link Class#getAnnotation(Class)}, this also finds annotations declared on interfaces, regardless
+     * of whether their type is {@link java.lang.annotation.Inherited}. Nearness is defined by
+     * {@link #distance(Class, Class) distance}; on equal distance, a class wins over an interface and, between
+     * interfaces, the one that comes first in {@link #lineageHierarchy(Class)}.
+     * <p>
+     * The annotations of a class are collected once and cached along with its {@link Lineage}, so a lookup, even a
+     * negative one, costs a single map access after warm-up.
+     *
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     * @see #findAllAnnotations(Class, Class)
+     */
+    public static <A extends Annotation> Optional<A> findAnnotation(final Class<?> subject,
+                                                                    final Class<A> annotationType) {
+        final List<A> result = Annotations.of(subject).get(annotationType);
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    /**
+     * Finds all annotations of a given type that are declared on a given class or on any superordinate class or
+     * interface from its lineage hierarchy, nearest first (see {@link #findAnnotation(Class, Class)}).
+     *
+     * @return an immutable list, empty if there is no such annotation.
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public static <A extends Annotation> List<A> findAllAnnotations(final Class<?> subject,
+                                                                    final Class<A> annotationType) {
+        return Annotations.of(subject).get(annotationType);
     }
 
     /**
@@ -54,9 +264,15 @@ public class Classes {
      * ({@link Class#getSuperclass() superclass} and finally the mentioned class itself.
      */
     public static Stream<Class<?>> lineageClasses(final Class<?> subject) {
-        return (null == subject)
-                ? Stream.empty()
-                : Stream.concat(lineageClasses(subject.getSuperclass()), Stream.of(subject));
+        int size = 0;
+        for (Class<?> type = subject; null != type; type = type.getSuperclass()) {
+            ++size;
+        }
+        final Class<?>[] result = new Class<?>[size];
+        for (Class<?> type = subject; null != type; type = type.getSuperclass()) {
+            result[--size] = type;
+        }
+        return Basics.streamOfDistinct(result);
     }
 
     /**
@@ -64,18 +280,38 @@ public class Classes {
      * In particular results in a {@link Stream} that is composed of the lineage hierarchy of any superordinate classes
      * ({@link Class#getSuperclass() superclass} and {@link Class#getInterfaces() interfaces}) and finally the
      * mentioned class itself.
+     * <p>
+     * The result is served from the (cached) {@link Lineage} of the given class.
      */
     public static Stream<Class<?>> lineageHierarchy(final Class<?> subject) {
-        return (null == subject)
-                ? Stream.empty()
-                : streamLineageHierarchyIndistinct(subject).distinct();
+        return (null == subject) ? Stream.empty() : Lineage.lookup(subject).stream();
+    }
+
+    /**
+     * Streams the lineage hierarchy of a given class, nearest first: the class itself, then any superordinate
+     * classes by ascending {@link #distance(Class, Class) distance}, each along with that distance. The order is
+     * exactly {@link Lineage.Order#NEAREST_FIRST}: on equal distance, a class precedes the interfaces and otherwise,
+     * the order of {@link #lineageHierarchy(Class)} is retained.
+     * <p>
+     * The stream is served from the order and distances retained along with the cached {@link Lineage}, creating
+     * each {@link Ancestor} not before it is requested, so e.g. a {@link Stream#findFirst()} creates just one.
+     */
+    public static Stream<Ancestor> byDistance(final Class<?> subject) {
+        return (null == subject) ? Stream.empty() : StreamSupport.stream(new ByDistance(Lineage.lookup(subject)), false);
     }
 
-    private static Stream<Class<?>> streamLineageHierarchyIndistinct(final Class<?> subject) {
-        return Stream.concat(superior(subject).map(Classes::streamLineageHierarchyIndistinct)
-                                              .reduce(Stream::concat)
-                                              .orElseGet(Stream::empty),
-                             Stream.of(subject));
+    /**
+     * Visits the lineage hierarchy of a given class, including the class itself, in a given {@link Lineage.Order}
+     * as long as a given {@link Predicate} results in {@code true}. Typically used to find the first class that
+     * matches some condition without creating a {@link Stream}.
+     *
+     * @return {@code true} if all classes were visited, {@code false} if the traversal was stopped early.
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     * @see Lineage#forEachAncestor(Lineage.Order, Predicate)
+     */
+    public static boolean forEachAncestor(final Class<?> subject, final Lineage.Order order,
+                                          final Predicate<? super Class<?>> continueWhile) {
+        return Lineage.lookup(subject).forEachAncestor(order, continueWhile);
     }
 
     /**
@@ -91,13 +327,13 @@ public class Classes {
          * superclass}. Otherwise the result is a {@link Stream} consisting of exactly one element, namely the
          * requested {@link Class#getSuperclass() superclass}.
          */
-        Streaming SUPER_CLASS = subject -> Basics.streamOfNullable(subject.getSuperclass());
+        Streaming SUPER_CLASS = Basics::streamOfSuperclass;
 
         /**
          * For the sake of completeness and convenience: a {@link Function} to treat the direct
          * {@link Class#getInterfaces() interfaces} of a given {@link Class} as a {@link Stream}.
          */
-        Streaming INTERFACES = subject -> Stream.of(subject.getInterfaces());
+        Streaming INTERFACES = Basics::streamOfInterfaces;
 
         /**
          * Encapsulates {@link #superior(Class)} as a {@link Function}
@@ -113,54 +349,10 @@ public class Classes {
          * Encapsulates {@link #lineageHierarchy(Class)} as a {@link Function}
          */
         Streaming LINEAGE_HIERARCHY = Classes::lineageHierarchy;
-    }
-
-    private static final class Distance {
-
-        private final Class<?> superClass;
-        private final Function<Class<?>, Stream<Class<?>>> superClasses;
-
-        private Distance(final Class<?> superClass, final Function<Class<?>, Stream<Class<?>>> superClasses) {
-            this.superClass = superClass;
-            this.superClasses = superClasses;
-        }
-
-        static Distance of(final Class<?> superClass) {
-            if (superClass.isInterface())
-                return new Distance(superClass, Distance::superClassesOf);
-            else
-                return new Distance(superClass, Distance::superClassOf);
-        }
-
-        private static <E> Stream<E> streamOf(final E nullable) {
-            return (null == nullable) ? Stream.empty() : Stream.of(nullable);
-        }
-
-        private static Stream<Class<?>> superClassOf(final Class<?> aClass) {
-            return streamOf(aClass.getSuperclass());
-        }
 
-        private static Stream<Class<?>> superClassesOf(final Class<?> aClass) {
-            return Stream.concat(Stream.of(aClass.getInterfaces()), superClassOf(aClass));
-        }
-
-        private int from(final Class<?> subClass) {
-            try {
-                return superClass.equals(subClass) ? 0 : 1 + from(superClasses.apply(subClass));
-            } catch (final NoLineageException e) {
-                throw new IllegalArgumentException(String.format(NO_LINEAGE, superClass, subClass), e);
-            }
-        }
-
-        @SuppressWarnings("OptionalGetWithoutIsPresent")
-        private int from(final Stream<Class<?>> subClasses) {
-            return subClasses.filter(subClass -> isLineage(superClass, subClass))
-                             .map(this::from)
-                             .reduce(Math::min)
-                             .orElseThrow(NoLineageException::new);
-        }
-
-        private static class NoLineageException extends RuntimeException {
-        }
+        /**
+         * Encapsulates {@link #byDistance(Class)} as a {@link Function}, reduced to the classes.
+         */
+        Streaming BY_DISTANCE = subject -> byDistance(subject).map(Ancestor::getType);
     }
 }
@@ -0,0 +1,104 @@
+package de.team33.libs.classes.v1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Collections.unmodifiableSet;
+
+
+/**
+ * The union of the lineage hierarchies of a set of classes, grouped by level: level 0 consists of the classes that
+ * have no superior, level n+1 of the classes whose superior is of level n or less.
+ * <p>
+ * All classes of a level depend only on classes of lower levels, so the lineages of a level can be built in
+ * parallel once the lower levels are built.
+ */
+final class Closure {
+
+    private final Map<Class<?>, Integer> levels = new LinkedHashMap<>();
+    private final List<List<Class<?>>> byLevel = new ArrayList<>();
+
+    Closure(final Collection<? extends Class<?>> subjects) {
+        for (final Class<?> subject : subjects) {
+            add(subject);
+        }
+    }
+
+    private static List<Class<?>> superior(final Class<?> type) {
+        final List<Class<?>> result = new ArrayList<>(Math.max(1, type.getInterfaces().length + 1));
+        for (final Class<?> superior : type.getInterfaces()) {
+            result.add(superior);
+        }
+        if (null != type.getSuperclass()) {
+            result.add(type.getSuperclass());
+        }
+        return result;
+    }
+
+    private void add(final Class<?> subject) {
+        final Deque<Class<?>> stack = new ArrayDeque<>();
+        final Map<Class<?>, List<Class<?>>> pending = new HashMap<>();
+        stack.push(subject);
+        while (!stack.isEmpty()) {
+            final Class<?> type = stack.peek();
+            if (levels.containsKey(type)) {
+                stack.pop();
+                continue;
+            }
+            final List<Class<?>> superior = pending.computeIfAbsent(type, Closure::superior);
+            boolean ready = true;
+            int level = 0;
+            for (final Class<?> candidate : superior) {
+                final Integer superLevel = levels.get(candidate);
+                if (null == superLevel) {
+                    stack.push(candidate);
+                    ready = false;
+                } else {
+                    level = Math.max(level, superLevel + 1);
+                }
+            }
+            if (ready) {
+                stack.pop();
+                pending.remove(type);
+                put(type, level);
+            }
+        }
+    }
+
+    private void put(final Class<?> type, final int level) {
+        levels.put(type, level);
+        while (byLevel.size() <= level) {
+            byLevel.add(new ArrayList<>());
+        }
+        byLevel.get(level).add(type);
+    }
+
+    /**
+     * Returns all classes of this closure, each after its superior.
+     */
+    final Set<Class<?>> classes() {
+        return unmodifiableSet(levels.keySet());
+    }
+
+    /**
+     * Builds the lineages of all classes of this closure on a given pool, level by level.
+     */
+    final Map<Class<?>, Lineage> build(final ForkJoinPool pool) {
+        for (final List<Class<?>> level : byLevel) {
+            pool.submit(() -> level.parallelStream().forEach(Lineage::of)).join();
+        }
+        final Map<Class<?>, Lineage> result = new LinkedHashMap<>(levels.size() * 4 / 3 + 1);
+        for (final Class<?> type : levels.keySet()) {
+            result.put(type, Lineage.lookup(type));
+        }
+        return result;
+    }
+}
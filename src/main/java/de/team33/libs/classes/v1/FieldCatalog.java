@@ -0,0 +1,188 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+
+/**
+ * Catalogs the fields declared by a particular class and its {@link Classes#lineageClasses(Class) lineage classes},
+ * superclass first, in the order of their declaration.
+ * <p>
+ * Field catalogs are computed once per class and cached just like {@link Lineage lineages}: they die with their
+ * class and are evicted along with them by {@link Lineage#evict(ClassLoader)}. The filtered views are precomputed
+ * and immutable, so retrieving them costs neither copying nor filtering.
+ * <p>
+ * <em>Note: The {@link Field} instances are shared by all users of a catalog. They should not be modified, e.g. by
+ * {@link Field#setAccessible(boolean)}. Use {@link #getter(Field)} and {@link #setter(Field)} to access any field
+ * instead.</em>
+ */
+public final class FieldCatalog {
+
+    private static final ClassCache<FieldCatalog> CACHE = new ClassCache<>(FieldCatalog::new);
+    private static final Predicate<Field> IS_INSTANCE =
+            field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic();
+    private static final Predicate<Field> IS_SIGNIFICANT =
+            IS_INSTANCE.and(field -> !Modifier.isTransient(field.getModifiers()));
+
+    private final List<Field> fields;
+    private final List<Field> instanceFields;
+    private final List<Field> significantFields;
+    private final Map<Field, Integer> indices;
+    private final AtomicReferenceArray<MethodHandle> getters;
+    private final AtomicReferenceArray<MethodHandle> setters;
+
+    private FieldCatalog(final Class<?> subject) {
+        final List<Field> all = new ArrayList<>();
+        Classes.lineageClasses(subject).forEach(type -> all.addAll(Arrays.asList(type.getDeclaredFields())));
+        this.fields = view(all, field -> true);
+        this.instanceFields = view(all, IS_INSTANCE);
+        this.significantFields = view(all, IS_SIGNIFICANT);
+        this.indices = new HashMap<>(all.size() * 2);
+        for (int index = 0; index < all.size(); ++index) {
+            indices.put(all.get(index), index);
+        }
+        this.getters = new AtomicReferenceArray<>(all.size());
+        this.setters = new AtomicReferenceArray<>(all.size());
+    }
+
+    /**
+     * Retrieves the field catalog of a given class.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public static FieldCatalog of(final Class<?> subject) {
+        return CACHE.get(subject);
+    }
+
+    /**
+     * Evicts the cached field catalogs of all classes defined by a given {@link ClassLoader}.
+     *
+     * @see Lineage#evict(ClassLoader)
+     */
+    static void evict(final ClassLoader loader) {
+        CACHE.evict(loader);
+    }
+
+    private static List<Field> view(final List<Field> fields, final Predicate<Field> filter) {
+        return Collections.unmodifiableList(Arrays.asList(fields.stream().filter(filter).toArray(Field[]::new)));
+    }
+
+    private static Field accessible(final Field field) {
+        try {
+            // A private copy, so the shared instance remains unaffected ...
+            final Field result = field.getDeclaringClass().getDeclaredField(field.getName());
+            result.setAccessible(true);
+            return result;
+        } catch (final NoSuchFieldException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (final RuntimeException e) {
+            // InaccessibleObjectException (Java 9+) or SecurityException ...
+            throw new IllegalStateException("<" + field + "> is not accessible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns all fields, including static and synthetic ones.
+     */
+    public final List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * Returns all non-static, non-synthetic fields.
+     */
+    public final List<Field> instanceFields() {
+        return instanceFields;
+    }
+
+    /**
+     * Returns all non-static, non-transient, non-synthetic fields, typically those that make up the state of an
+     * instance.
+     */
+    public final List<Field> significantFields() {
+        return significantFields;
+    }
+
+    /**
+     * Returns a {@link MethodHandle} that reads a given field of this catalog. It has the exact type of the field
+     * ({@code (DeclaringClass)FieldType} or {@code ()FieldType} for a static field), so it can be invoked
+     * {@link MethodHandle#invokeExact(Object...) exactly} without boxing.
+     * <p>
+     * The handle is created when it is first requested and reused afterwards. It may be created more than once by
+     * concurrent first requests, but all of them get the same handle.
+     *
+     * @throws IllegalArgumentException if the given field is not part of this catalog.
+     * @throws IllegalStateException    if the given field can't be made accessible, e.g. on Java 9+ a field of a
+     *                                  module that is not opened to this library, such as most JDK internals.
+     * @throws NullPointerException     if the given Argument is {@code null}.
+     */
+    public final MethodHandle getter(final Field field) {
+        final int index = indexOf(field);
+        final MethodHandle result = getters.get(index);
+        if (null == result) {
+            try {
+                return published(getters, index, MethodHandles.lookup().unreflectGetter(accessible(field)));
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a {@link MethodHandle} that writes a given field of this catalog. It has the exact type of the field
+     * ({@code (DeclaringClass,FieldType)void} or {@code (FieldType)void} for a static field), so it can be invoked
+     * {@link MethodHandle#invokeExact(Object...) exactly} without boxing.
+     * <p>
+     * The handle is created when it is first requested and reused afterwards, just like a {@link #getter(Field)}.
+     *
+     * @throws IllegalArgumentException if the given field is not part of this catalog or is {@code static final}.
+     * @throws IllegalStateException    if the given field can't be made accessible (see {@link #getter(Field)}).
+     * @throws NullPointerException     if the given Argument is {@code null}.
+     */
+    public final MethodHandle setter(final Field field) {
+        final int index = indexOf(field);
+        final MethodHandle result = setters.get(index);
+        if (null == result) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers))
+                throw new IllegalArgumentException("<" + field + "> is a constant and can't be written");
+            try {
+                return published(setters, index, MethodHandles.lookup().unreflectSetter(accessible(field)));
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    private static MethodHandle published(final AtomicReferenceArray<MethodHandle> handles, final int index,
+                                          final MethodHandle handle) {
+        return handles.compareAndSet(index, null, handle) ? handle : handles.get(index);
+    }
+
+    private int indexOf(final Field field) {
+        final Integer result = indices.get(field);
+        if (null == result) {
+            if (null == field)
+                throw new NullPointerException("<field> must not be null");
+            throw new IllegalArgumentException("<" + field + "> is not part of " + this);
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        return fields.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.Optional;
+
+
+/**
+ * Abstracts the generic lineage hierarchy of a particular class: the {@link Lineage} of the class, where each
+ * superordinate class is represented by the (generic) type it has from the point of view of the subject, with the
+ * type arguments resolved as far as possible.
+ * <p>
+ * For example, from the point of view of {@code class StringList extends ArrayList<String>},
+ * {@link java.util.Collection Collection} is represented as {@code Collection<String>}, so the type argument
+ * {@code E} of {@code Collection} is {@link String}. Type arguments that depend on the type parameters of the
+ * subject itself are represented by these type parameters. If a superordinate class is inherited as raw type, it
+ * and its own superordinate classes are represented by their raw classes.
+ * <p>
+ * Generic lineages are computed once per class and cached just like lineages: they die with their class and are
+ * evicted along with them by {@link Lineage#evict(ClassLoader)}. Resolving a type argument is a lookup.
+ */
+public final class GenericLineage {
+
+    private static final ClassCache<GenericLineage> CACHE = new ClassCache<>(GenericLineage::newGenericLineage);
+
+    private final Lineage lineage;
+    private final TypeVariable<?>[] parameters;
+    private final Type[] types;
+
+    private GenericLineage(final Class<?> subject) {
+        this.lineage = Lineage.lookup(subject);
+        this.parameters = subject.getTypeParameters();
+        this.types = newTypes(subject);
+    }
+
+    /**
+     * Retrieves the generic lineage of a given class.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public static GenericLineage of(final Class<?> subject) {
+        return CACHE.get(subject);
+    }
+
+    /**
+     * Evicts the cached generic lineages of all classes defined by a given {@link ClassLoader}.
+     *
+     * @see Lineage#evict(ClassLoader)
+     */
+    static void evict(final ClassLoader loader) {
+        CACHE.evict(loader);
+    }
+
+    /**
+     * Ensures that the generic lineages of all superordinate classes are cached before building a new one, from
+     * the top down. This way, building a generic lineage never needs to build another one recursively.
+     */
+    private static GenericLineage newGenericLineage(final Class<?> subject) {
+        final Lineage lineage = Lineage.lookup(subject);
+        for (int index = 0, limit = lineage.size() - 1; index < limit; ++index) {
+            CACHE.get(lineage.get(index));
+        }
+        return new GenericLineage(subject);
+    }
+
+    private static Type parameterized(final Class<?> subject, final TypeVariable<?>[] parameters) {
+        return (0 == parameters.length)
+                ? subject
+                : new ResolvedTypes.Parameterized(subject, Arrays.copyOf(parameters, parameters.length, Type[].class),
+                                                  subject.getDeclaringClass());
+    }
+
+    private static Type compact(final Type type) {
+        if (type instanceof ParameterizedType && !(type instanceof ResolvedTypes.Parameterized)) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            return new ResolvedTypes.Parameterized((Class<?>) parameterized.getRawType(),
+                                                   parameterized.getActualTypeArguments(),
+                                                   parameterized.getOwnerType());
+        }
+        return type;
+    }
+
+    private Type[] newTypes(final Class<?> subject) {
+        final Type[] result = new Type[lineage.size()];
+        result[lineage.size() - 1] = parameterized(subject, parameters);
+        for (final Type type : subject.getGenericInterfaces()) {
+            merge(result, type);
+        }
+        final Type superclass = subject.getGenericSuperclass();
+        if (null != superclass) {
+            merge(result, superclass);
+        }
+        return result;
+    }
+
+    private void merge(final Type[] result, final Type direct) {
+        final boolean isRaw = (direct instanceof Class);
+        final Class<?> rawType = isRaw ? (Class<?>) direct : (Class<?>) ((ParameterizedType) direct).getRawType();
+        final Type[] arguments = isRaw ? null : ((ParameterizedType) direct).getActualTypeArguments();
+        final GenericLineage superior = of(rawType);
+        for (int index = 0; index < superior.types.length; ++index) {
+            final Class<?> type = superior.lineage.get(index);
+            final int position = lineage.indexOf(type);
+            if (null == result[position]) {
+                result[position] = isRaw
+                        ? type
+                        : compact(ResolvedTypes.substitute(superior.types[index], superior.parameters, arguments));
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Lineage} this generic lineage is based on.
+     */
+    public final Lineage lineage() {
+        return lineage;
+    }
+
+    /**
+     * Returns the type a given class from this lineage has from the point of view of its subject: a
+     * {@link ParameterizedType} with its type arguments resolved as far as possible if the class is generic and not
+     * inherited as raw type, otherwise the class itself.
+     *
+     * @return the type or {@link Optional#empty()} if the given class is not part of this lineage.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public final Optional<Type> type(final Class<?> superordinate) {
+        final int index = lineage.indexOf(superordinate);
+        return (0 > index) ? Optional.empty() : Optional.of(types[index]);
+    }
+
+    /**
+     * Returns the type argument at a given position that a given class from this lineage has from the point of view
+     * of its subject.
+     *
+     * @return the type argument or {@link Optional#empty()} if the given class is not part of this lineage, not
+     * generic or inherited as raw type.
+     * @throws NullPointerException      if the given class is {@code null}.
+     * @throws IndexOutOfBoundsException if the given class is generic, but the {@code index} does not correspond
+     *                                   to one of its type parameters.
+     */
+    public final Optional<Type> typeArgument(final Class<?> superordinate, final int index) {
+        final int position = lineage.indexOf(superordinate);
+        if ((0 > position) || !(types[position] instanceof ResolvedTypes.Parameterized))
+            return Optional.empty();
+        return Optional.of(((ResolvedTypes.Parameterized) types[position]).argument(index));
+    }
+
+    /**
+     * Resolves a type parameter of a class from this lineage from the point of view of its subject, e.g. the
+     * {@link String} that {@code E} of {@link java.util.Collection Collection&lt;E&gt;} is from the point of view of
+     * {@code class StringList extends ArrayList<String>}.
+     *
+     * @return the type argument or {@link Optional#empty()} if the given type variable is not declared by a class
+     * of this lineage or its class is inherited as raw type.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public final Optional<Type> resolve(final TypeVariable<?> variable) {
+        final GenericDeclaration declaration = variable.getGenericDeclaration();
+        if (!(declaration instanceof Class))
+            return Optional.empty();
+        final TypeVariable<?>[] declared = of((Class<?>) declaration).parameters;
+        for (int index = 0; index < declared.length; ++index) {
+            if (declared[index].equals(variable)) {
+                return typeArgument((Class<?>) declaration, index);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public final int hashCode() {
+        return lineage.hashCode();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        return (this == obj) || ((obj instanceof GenericLineage) && lineage.equals(((GenericLineage) obj).lineage));
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder result = new StringBuilder("[");
+        for (int index = 0; index < types.length; ++index) {
+            result.append((0 == index) ? "" : ", ").append(types[index].getTypeName());
+        }
+        return result.append("]").toString();
+    }
+}
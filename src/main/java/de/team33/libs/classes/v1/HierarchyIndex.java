@@ -0,0 +1,139 @@
+package de.team33.libs.classes.v1;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * A reverse index of the lineage hierarchy of a set of classes, that answers downward questions like "all known
+ * implementations of an interface" or "all known subclasses of a class".
+ * <p>
+ * Each registered class is indexed along with its whole lineage hierarchy, in the sense of
+ * {@link Classes#isLineage(Class, Class)}. Classes can be registered at any time, also concurrently to queries,
+ * e.g. when new classes are loaded. The results of queries are determined in time proportional to their size.
+ * <p>
+ * Once {@link #register(Class)} returns, its class and whole lineage hierarchy are visible to all queries of all
+ * threads. A class appears in {@link #classes()} only after its whole lineage hierarchy has been linked, so the
+ * queries reflect at least the hierarchies of all classes listed there. Queries concurrent to a registration may
+ * or may not reflect parts of it.
+ * <p>
+ * <em>Note: An index keeps its classes reachable. It is intended to be owned by a component whose lifecycle
+ * corresponds to the class loaders of the indexed classes.</em>
+ */
+public final class HierarchyIndex {
+
+    private final Set<Class<?>> registered = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, Set<Class<?>>> direct = new ConcurrentHashMap<>(0);
+
+    /**
+     * Initializes a new, empty index.
+     */
+    public HierarchyIndex() {
+    }
+
+    /**
+     * Builds a new index of a given set of classes, in parallel.
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public static HierarchyIndex of(final Collection<? extends Class<?>> subjects) {
+        final HierarchyIndex result = new HierarchyIndex();
+        subjects.parallelStream().forEach(result::register);
+        return result;
+    }
+
+    /**
+     * Registers a class along with its whole lineage hierarchy, unless already registered.
+     *
+     * @return this index.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public final HierarchyIndex register(final Class<?> subject) {
+        final Set<Class<?>> linked = new HashSet<>();
+        final Deque<Class<?>> stack = new ArrayDeque<>();
+        stack.push(subject);
+        while (!stack.isEmpty()) {
+            final Class<?> type = stack.pop();
+            if (!registered.contains(type) && linked.add(type)) {
+                for (final Class<?> superior : type.getInterfaces()) {
+                    link(superior, type, stack);
+                }
+                link(type.getSuperclass(), type, stack);
+            }
+        }
+        // Only now that all links exist, the classes are known as registered ...
+        registered.addAll(linked);
+        return this;
+    }
+
+    /**
+     * Registers some classes along with their whole lineage hierarchies.
+     *
+     * @return this index.
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public final HierarchyIndex registerAll(final Collection<? extends Class<?>> subjects) {
+        subjects.forEach(this::register);
+        return this;
+    }
+
+    private void link(final Class<?> superior, final Class<?> type, final Deque<Class<?>> stack) {
+        if (null != superior) {
+            direct.computeIfAbsent(superior, key -> ConcurrentHashMap.newKeySet()).add(type);
+            stack.push(superior);
+        }
+    }
+
+    /**
+     * Returns all classes known to this index.
+     */
+    public final Set<Class<?>> classes() {
+        return unmodifiableSet(registered);
+    }
+
+    /**
+     * Returns the known classes that directly extend or implement a given class or interface.
+     */
+    public final Set<Class<?>> directSubtypesOf(final Class<?> type) {
+        return subtypesOf(type, 1);
+    }
+
+    /**
+     * Returns all known classes that (directly or indirectly) extend or implement a given class or interface,
+     * in ascending order of their {@link Classes#distance(Class, Class) distance} to that type.
+     * The type itself is not included.
+     */
+    public final Set<Class<?>> subtypesOf(final Class<?> type) {
+        return subtypesOf(type, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the known classes that (directly or indirectly) extend or implement a given class or interface and
+     * whose {@link Classes#distance(Class, Class) distance} to that type does not exceed a given maximum,
+     * in ascending order of that distance. The type itself is not included.
+     */
+    public final Set<Class<?>> subtypesOf(final Class<?> type, final int maxDistance) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        Set<Class<?>> level = Collections.singleton(type);
+        for (int distance = 1; (distance <= maxDistance) && !level.isEmpty(); ++distance) {
+            final Set<Class<?>> next = new LinkedHashSet<>();
+            for (final Class<?> superior : level) {
+                for (final Class<?> subtype : direct.getOrDefault(superior, Collections.emptySet())) {
+                    if (result.add(subtype)) {
+                        next.add(subtype);
+                    }
+                }
+            }
+            level = next;
+        }
+        return unmodifiableSet(result);
+    }
+}
@@ -1,72 +1,561 @@
 package de.team33.libs.classes.v1;
 
-import de.team33.libs.lazy.v1.Lazy;
-
-import java.util.ArrayList;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 
 /**
  * Abstracts the lineage hierarchy of a particular class
  */
 public final class Lineage {
 
-    private static final Map<Class<?>, Lazy<Lineage>> CACHE = new ConcurrentHashMap<>(0);
-    private static final Function<Class<?>, Lazy<Lineage>> NEW_LAZY_LINEAGE = key ->
-            new Lazy<>(() -> new Lineage(key));
+    private static final ClassCache<Lineage> CACHE = new ClassCache<>(Lineage::newLineage);
+    private static final AtomicInteger SERIALS = new AtomicInteger(0);
+
+    /**
+     * A serial number per class, not cached along with the lineages, so a class keeps its serial number (and its
+     * {@link #rank()}) when its lineage gets evicted and rebuilt.
+     */
+    private static final ClassValue<Integer> SERIAL = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return SERIALS.getAndIncrement();
+        }
+    };
 
     private final Class<?> subject;
-    private final List<Lineage> superior;
-    private final transient Lazy<List<Object>> listView = new Lazy<>(this::newListView);
+    private final Lineage[] superior;
+    private final Ancestors ancestors;
+    private final long fingerprint;
+    private final int depth;
+    private final long rank;
+    private volatile int[] nearestFirst;
+    private volatile int[] superclassesFirst;
 
     private Lineage(final Class<?> subject) {
         this.subject = subject;
         this.superior = newSuperior();
+        this.ancestors = newAncestors();
+        this.fingerprint = newFingerprint();
+        this.depth = newDepth();
+        this.rank = ((long) -depth << 32) | (SERIAL.get(subject) & 0xFFFFFFFFL);
     }
 
+    /**
+     * Retrieves the lineage of a given class.
+     * <p>
+     * Lineages are cached in a way that does not keep the classes (and thus their class loaders) reachable, so a
+     * cached lineage dies with its class. As long as a lineage is neither collected nor {@link #evict(ClassLoader)
+     * evicted}, there is exactly one instance per class.
+     * <p>
+     * Retrieving a lineage never waits for a lineage being built by another thread: cold lookups of different
+     * classes proceed independently, even if they share ancestors. If several threads happen to build the lineage
+     * of the same class at the same time, all of them end up with the one instance that was published first.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
     public static Lineage of(final Class<?> subject) {
-        return CACHE.computeIfAbsent(subject, NEW_LAZY_LINEAGE).get();
+        return CACHE.request(subject);
+    }
+
+    /**
+     * Retrieves the lineage of a given class like {@link #of(Class)}, but is not counted as a request in the
+     * {@link #statistics() statistics}. Used by this library itself, e.g. while building other lineages.
+     */
+    static Lineage lookup(final Class<?> subject) {
+        return CACHE.get(subject);
+    }
+
+    /**
+     * Retrieves the lineages of a whole set of classes, e.g. to warm up the cache at startup, and results in the
+     * union of their lineage hierarchies, mapping each class to its lineage.
+     * <p>
+     * The lineages are built in parallel on the {@link ForkJoinPool#commonPool() common pool}, in dependency order
+     * so that the lineages of common supertypes are built once and shared.
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public static Map<Class<?>, Lineage> ofAll(final Collection<? extends Class<?>> subjects) {
+        return ofAll(subjects, ForkJoinPool.commonPool());
     }
 
-    private List<Lineage> newSuperior() {
-        return unmodifiableList(new ArrayList<>(Basics.streamOfSuperior(subject)
-                                                      .map(Lineage::of)
-                                                      .collect(LinkedList::new, List::add, List::addAll)));
+    /**
+     * Retrieves the lineages of a whole set of classes like {@link #ofAll(Collection)}, but uses a given
+     * {@link ForkJoinPool}.
+     *
+     * @throws NullPointerException if one of the given Arguments or any of the subjects is {@code null}.
+     */
+    public static Map<Class<?>, Lineage> ofAll(final Collection<? extends Class<?>> subjects,
+                                               final ForkJoinPool pool) {
+        return unmodifiableMap(new Closure(subjects).build(pool));
     }
 
-    private List<Object> newListView() {
-        return Arrays.asList(subject, superior);
+    /**
+     * Limits the number of lineages held by the cache behind {@link #of(Class)}. When the limit is exceeded, the
+     * oldest entries are evicted first. By default, the cache is unlimited ({@link Integer#MAX_VALUE}).
+     * <p>
+     * <em>Note: An evicted lineage may still be referenced by the lineages of subclasses. Retrieving it again
+     * results in a new but {@link #equals(Object) equal} instance.</em>
+     *
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    public static void limit(final int maxSize) {
+        CACHE.limit(maxSize);
     }
 
+    /**
+     * Evicts the cached lineages of all classes defined by a given {@link ClassLoader}, e.g. when an application
+     * that was loaded by that class loader is undeployed. Use {@code null} for classes of the bootstrap class loader.
+     * <p>
+     * Evicts any other information cached per class by this library, like {@link GenericLineage generic lineages}
+     * or {@link FieldCatalog field catalogs}, as well.
+     */
+    public static void evict(final ClassLoader loader) {
+        CACHE.evict(loader);
+        GenericLineage.evict(loader);
+        FieldCatalog.evict(loader);
+        MethodOverrides.evict(loader);
+        Annotations.evict(loader);
+    }
+
+    /**
+     * Starts recording statistics of the cache behind {@link #of(Class)} and registers it with the platform MBean
+     * server as {@link LineageCacheMXBean}. Recording statistics causes a small overhead for each call to
+     * {@link #of(Class)}, while there is almost none as long as statistics are disabled (the default).
+     *
+     * @throws IllegalStateException if the cache can't be registered with the platform MBean server.
+     */
+    public static void enableStatistics() {
+        CACHE.record();
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(LineageCacheMXBean.OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new CacheMXBean(), name);
+            }
+        } catch (final InstanceAlreadyExistsException ignored) {
+            // someone else has registered in the meantime - that's fine.
+        } catch (final JMException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops recording statistics of the cache behind {@link #of(Class)}, discards the statistics recorded so far
+     * and unregisters the {@link LineageCacheMXBean}.
+     *
+     * @throws IllegalStateException if the cache can't be unregistered from the platform MBean server.
+     */
+    public static void disableStatistics() {
+        CACHE.unrecord();
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(LineageCacheMXBean.OBJECT_NAME));
+        } catch (final InstanceNotFoundException ignored) {
+            // not registered - that's fine.
+        } catch (final JMException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache behind {@link #of(Class)}. As long as statistics are not
+     * {@link #enableStatistics() enabled}, only the number of entries is determined.
+     */
+    public static CacheStatistics statistics() {
+        return CACHE.statistics();
+    }
+
+    /**
+     * Returns the classes whose lineages are currently cached.
+     */
+    static List<Class<?>> cachedClasses() {
+        return CACHE.types();
+    }
+
+    private static Lineage newLineage(final Class<?> subject) {
+        prepareSuperior(subject);
+        return new Lineage(subject);
+    }
+
+    /**
+     * Ensures that the lineages of all classes superordinate to a given class are cached, building missing ones
+     * bottom-up using an explicit stack. So, when building a lineage, the lineages of its superior are usually
+     * found in the cache, and the stack depth does not depend on the depth of the class hierarchy.
+     */
+    private static void prepareSuperior(final Class<?> subject) {
+        final Preparation preparation = new Preparation();
+        preparation.pushMissing(subject);
+        while (!preparation.stack.isEmpty()) {
+            final Class<?> type = preparation.stack.peek();
+            if (preparation.isMissing(type) && preparation.pushMissing(type)) {
+                continue;
+            }
+            preparation.stack.pop();
+            if (preparation.done.add(type)) {
+                CACHE.get(type);
+            }
+        }
+    }
+
+    private Lineage[] newSuperior() {
+        final Class<?>[] classes = Basics.superior(subject);
+        final Lineage[] result = new Lineage[classes.length];
+        for (int index = 0; index < classes.length; ++index) {
+            result[index] = lookup(classes[index]);
+        }
+        return result;
+    }
+
+    private Ancestors newAncestors() {
+        final Ancestors[] result = new Ancestors[superior.length];
+        for (int index = 0; index < superior.length; ++index) {
+            result[index] = superior[index].ancestors;
+        }
+        return Ancestors.of(subject, Arrays.asList(result));
+    }
+
+    private int newDepth() {
+        int result = 0;
+        for (final Lineage lineage : superior) {
+            result = Math.max(result, lineage.depth + 1);
+        }
+        return result;
+    }
+
+    private long newFingerprint() {
+        long result = mix(name(subject));
+        for (final Lineage lineage : superior) {
+            result = mix(result * 0x9E3779B97F4A7C15L + lineage.fingerprint);
+        }
+        return result;
+    }
+
+    private static long name(final Class<?> type) {
+        final String name = type.getName();
+        long result = 0xCBF29CE484222325L;
+        for (int index = 0; index < name.length(); ++index) {
+            result = (result ^ name.charAt(index)) * 0x100000001B3L;
+        }
+        return result;
+    }
+
+    private static long mix(final long value) {
+        long result = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+        return result ^ (result >>> 31);
+    }
+
+    /**
+     * Not cached to keep a lineage small, as it is only needed for {@link #toString()}.
+     */
+    private List<Object> listView() {
+        return Arrays.asList(subject, Arrays.asList(superior));
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the structure of this lineage, computed once together with it from the names
+     * of its subject and superior classes and the fingerprints of their lineages, in order.
+     * <p>
+     * Equal lineages have the same fingerprint, and it is stable across runs and class loaders for the same class
+     * names and structure. So it can serve as a cheap key e.g. in external caches, while different lineages most
+     * likely but not necessarily have different fingerprints.
+     */
+    public final long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the length of the longest path from the subject of this lineage to a root of its lineage hierarchy
+     * (a class or interface without any superior), so it is 0 for {@link Object} and any interface that does not
+     * extend another one. Any proper superordinate class of the subject has a lesser depth than the subject itself.
+     */
+    public final int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns a key that orders the subjects of lineages by descending {@link #depth()} and, on equal depth, by a
+     * serial number that is assigned to each class when its lineage is first built. So the ranks of different
+     * classes are distinct, and a proper superordinate class always has a greater rank than its subordinates.
+     *
+     * @see Classes#specificity()
+     */
+    final long rank() {
+        return rank;
+    }
+
+    /**
+     * Determines whether a given class is part of this lineage. This is a lookup into an index that was precomputed
+     * together with this lineage.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
     public boolean contains(final Class<?> other) {
-        return stream().anyMatch(other::equals);
+        return 0 <= ancestors.indexOf(other);
     }
 
+    /**
+     * Returns the position of a given class within this lineage, according to the order of {@link #stream()}, or
+     * {@code -1} if not contained.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    final int indexOf(final Class<?> other) {
+        return ancestors.indexOf(other);
+    }
+
+    /**
+     * Determines whether any of the given classes is part of this lineage.
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public boolean containsAny(final Collection<? extends Class<?>> others) {
+        for (final Class<?> other : others) {
+            if (0 <= ancestors.indexOf(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines the distance between the subject of this lineage and a given class from its lineage hierarchy,
+     * whereby the distance between the subject and itself is always 0. In contrast to
+     * {@link Classes#distance(Class, Class)} this is a simple lookup into a table that was precomputed together
+     * with this lineage.
+     *
+     * @return the distance or {@code -1} if the given class is not part of this lineage.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public int distance(final Class<?> other) {
+        return ancestors.distance(other);
+    }
+
+    /**
+     * Returns the number of distinct classes of this lineage, including its subject.
+     */
+    public int size() {
+        return ancestors.size();
+    }
+
+    /**
+     * Returns the class at a given position within this lineage, according to the order of {@link #stream()}.
+     * Intended for loops that should not create a {@link Stream}.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}.
+     */
+    public Class<?> get(final int index) {
+        return ancestors.get(index);
+    }
+
+    /**
+     * Streams the distinct classes of this lineage in the same order as {@link Classes#lineageHierarchy(Class)},
+     * finally the subject itself. The classes are served from an array that was materialized together with this
+     * lineage.
+     */
     public final Stream<Class<?>> stream() {
-        return Stream.concat(superior.stream()
-                                     .flatMap(Lineage::stream),
-                             Stream.of(subject));
+        return StreamSupport.stream(ancestors.spliterator(), false);
+    }
+
+    /**
+     * Visits the distinct classes of this lineage in the order of {@link #stream()}, finally the subject itself,
+     * as long as a given {@link Predicate} results in {@code true}.
+     *
+     * @return {@code true} if all classes were visited, {@code false} if the traversal was stopped early.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     * @see #forEachAncestor(Order, Predicate)
+     */
+    public final boolean forEachAncestor(final Predicate<? super Class<?>> continueWhile) {
+        return forEachAncestor(Order.HIERARCHY, continueWhile);
+    }
+
+    /**
+     * Visits the distinct classes of this lineage, including its subject, in a given {@link Order} as long as a
+     * given {@link Predicate} results in {@code true}.
+     * <p>
+     * Other than {@link #stream()}, a traversal doesn't create anything, so it doesn't allocate memory (provided the
+     * given predicate doesn't). The orders other than {@link Order#HIERARCHY} are determined when first used and
+     * retained along with this lineage.
+     *
+     * @return {@code true} if all classes were visited, {@code false} if the traversal was stopped early.
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public final boolean forEachAncestor(final Order order, final Predicate<? super Class<?>> continueWhile) {
+        final int[] indices = indices(order);
+        if (null == indices) {
+            for (int index = 0; index < ancestors.size(); ++index) {
+                if (!continueWhile.test(ancestors.get(index))) {
+                    return false;
+                }
+            }
+        } else {
+            for (final int index : indices) {
+                if (!continueWhile.test(ancestors.get(index))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distance of the class at a given position within this lineage, according to the order of
+     * {@link #stream()}.
+     */
+    final int distanceAt(final int index) {
+        return ancestors.distanceAt(index);
+    }
+
+    /**
+     * Returns the positions of the classes of this lineage in {@link Order#NEAREST_FIRST}, determined when first
+     * used and retained along with this lineage. The result must not be modified.
+     */
+    final int[] nearestFirst() {
+        return indices(Order.NEAREST_FIRST);
+    }
+
+    private int[] indices(final Order order) {
+        int[] result;
+        switch (order) {
+        case NEAREST_FIRST:
+            result = nearestFirst;
+            if (null == result) {
+                result = nearestFirst = ancestors.nearestFirst(false);
+            }
+            return result;
+        case SUPERCLASSES_FIRST:
+            result = superclassesFirst;
+            if (null == result) {
+                result = superclassesFirst = ancestors.nearestFirst(true);
+            }
+            return result;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * The orders in which {@link #forEachAncestor(Order, Predicate)} may visit the classes of a lineage.
+     */
+    public enum Order {
+
+        /**
+         * The order of {@link #stream()}: any class precedes its subclasses, so the most general classes come
+         * first and the subject comes last.
+         */
+        HIERARCHY,
+
+        /**
+         * Ascending {@link #distance(Class) distance}, so the subject comes first. On equal distance, a class
+         * precedes an interface and otherwise, the order of {@link #HIERARCHY} is retained - the same order in which
+         * {@link ClassDispatch} chooses the nearest type.
+         */
+        NEAREST_FIRST,
+
+        /**
+         * The subject and its {@link Class#getSuperclass() superclasses}, nearest first, followed by all the
+         * interfaces, ordered like {@link #NEAREST_FIRST} - the order in which the Java runtime searches for the
+         * implementation of a method.
+         */
+        SUPERCLASSES_FIRST
+    }
+
+    private static final class Preparation {
+
+        private final Deque<Class<?>> stack = new ArrayDeque<>();
+        private final Set<Class<?>> done = new HashSet<>();
+
+        private boolean isMissing(final Class<?> type) {
+            return (null != type) && !done.contains(type) && !CACHE.contains(type);
+        }
+
+        private boolean pushMissing(final Class<?> type) {
+            boolean result = false;
+            for (final Class<?> superior : type.getInterfaces()) {
+                result |= pushIfMissing(superior);
+            }
+            return pushIfMissing(type.getSuperclass()) | result;
+        }
+
+        private boolean pushIfMissing(final Class<?> type) {
+            if (!isMissing(type))
+                return false;
+            stack.push(type);
+            return true;
+        }
+    }
+
+    private static final class CacheMXBean implements LineageCacheMXBean {
+
+        @Override
+        public long getHits() {
+            return statistics().getHits();
+        }
+
+        @Override
+        public long getMisses() {
+            return statistics().getMisses();
+        }
+
+        @Override
+        public int getEntries() {
+            return statistics().getEntries();
+        }
+
+        @Override
+        public long getBuildTime() {
+            return statistics().getBuildTime();
+        }
+
+        @Override
+        public long getMaxBuildTime() {
+            return statistics().getMaxBuildTime();
+        }
+
+        @Override
+        public long getEvictions() {
+            return statistics().getEvictions();
+        }
     }
 
     @Override
     public int hashCode() {
-        return listView.get().hashCode();
+        return (int) (fingerprint ^ (fingerprint >>> 32));
     }
 
+    /**
+     * Two lineages are equal if they have the same subject, which determines their structure. In contrast to
+     * {@link #fingerprint()}, this distinguishes between classes of the same name from different class loaders.
+     */
     @Override
     public boolean equals(final Object obj) {
-        return (this == obj) || ((obj instanceof Lineage) && listView.get().equals(((Lineage) obj).listView.get()));
+        return (this == obj) || ((obj instanceof Lineage) && isEqual((Lineage) obj));
+    }
+
+    private boolean isEqual(final Lineage other) {
+        return (fingerprint == other.fingerprint) && (subject == other.subject);
     }
 
     @Override
     public final String toString() {
-        return listView.get().toString();
+        return listView().toString();
     }
 }
@@ -0,0 +1,46 @@
+package de.team33.libs.classes.v1;
+
+/**
+ * Management interface of the cache behind {@link Lineage#of(Class)}.
+ * <p>
+ * While {@link Lineage#enableStatistics() statistics are enabled}, an instance is registered with the platform
+ * MBean server under the name {@value #OBJECT_NAME}.
+ */
+public interface LineageCacheMXBean {
+
+    /**
+     * The name under which the cache is registered with the platform MBean server.
+     */
+    String OBJECT_NAME = "de.team33.libs.classes.v1:type=LineageCache";
+
+    /**
+     * Returns the number of requests that could be served from the cache (see {@link CacheStatistics#getHits()}).
+     */
+    long getHits();
+
+    /**
+     * Returns the number of entries that had to be built (see {@link CacheStatistics#getMisses()}).
+     */
+    long getMisses();
+
+    /**
+     * Returns the current number of entries.
+     */
+    int getEntries();
+
+    /**
+     * Returns the cumulative time, in nanoseconds, spent in building entries. The time spent in building the
+     * entries of superordinate classes is not added to the time of their subordinates.
+     */
+    long getBuildTime();
+
+    /**
+     * Returns the maximum time, in nanoseconds, spent in building a single entry.
+     */
+    long getMaxBuildTime();
+
+    /**
+     * Returns the number of entries that were evicted explicitly or due to a limit.
+     */
+    long getEvictions();
+}
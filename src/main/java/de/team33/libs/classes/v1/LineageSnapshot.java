@@ -0,0 +1,390 @@
+package de.team33.libs.classes.v1;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A persistent snapshot of the lineage graph of a set of classes, keyed by class name and a fingerprint of the
+ * class path.
+ * <p>
+ * A snapshot is written once, e.g. from all classes {@link #writeCached(Path) known to the lineage cache} or to a
+ * {@link HierarchyIndex}, and loaded on subsequent starts by mapping the file into memory.
+ * {@link #lineageNames(String) Queries by class name} are then answered from the mapped file without loading any
+ * class. A {@link #lineage(String) Lineage}, in contrast, is never built from a snapshot: it is always built by
+ * reflection from the loaded class, exactly like {@link Lineage#of(Class)}.
+ * <p>
+ * A snapshot that is stale (its fingerprint doesn't match the current one), corrupt, truncated, too large to be
+ * mapped (2 GB or more) or missing is never used: in that case, all queries fall back to reflection.
+ */
+public final class LineageSnapshot {
+
+    private static final int MAGIC = 0x4C494E47; // "LING"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    private final ClassLoader loader;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final AtomicReferenceArray<Class<?>> resolved;
+
+    private LineageSnapshot(final ClassLoader loader, final ByteBuffer buffer, final int count) {
+        this.loader = loader;
+        this.buffer = buffer;
+        this.count = count;
+        this.resolved = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * Determines a fingerprint of the current class path, based on the names, sizes and modification times of its
+     * elements.
+     */
+    public static long fingerprint() {
+        long result = 0xCBF29CE484222325L;
+        for (final String element : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            final File file = new File(element);
+            result = mix(result, element.hashCode());
+            result = mix(result, file.length());
+            result = mix(result, file.lastModified());
+        }
+        return result;
+    }
+
+    private static long mix(final long hash, final long value) {
+        final long result = (hash ^ value) * 0x100000001B3L;
+        return result ^ (result >>> 29);
+    }
+
+    /**
+     * Writes a snapshot of the lineage hierarchies of some classes to a file, using the current
+     * {@link #fingerprint()}.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(final Path path, final Collection<? extends Class<?>> classes) throws IOException {
+        write(path, classes, fingerprint());
+    }
+
+    /**
+     * Writes a snapshot of the lineage hierarchies of all classes {@link HierarchyIndex#classes() known} to a given
+     * {@link HierarchyIndex} to a file, using the current {@link #fingerprint()}.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(final Path path, final HierarchyIndex index) throws IOException {
+        write(path, index.classes());
+    }
+
+    /**
+     * Writes a snapshot of the lineage hierarchies of all classes whose lineages are currently cached
+     * (see {@link Lineage#of(Class)}) to a file, using the current {@link #fingerprint()}.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public static void writeCached(final Path path) throws IOException {
+        write(path, Lineage.cachedClasses());
+    }
+
+    /**
+     * Writes a snapshot of the lineage hierarchies of some classes to a file, using a given fingerprint.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(final Path path, final Collection<? extends Class<?>> classes, final long fingerprint)
+            throws IOException {
+        final Map<String, Class<?>> byName = new HashMap<>();
+        for (final Class<?> type : new Closure(classes).classes()) {
+            byName.putIfAbsent(type.getName(), type);
+        }
+        final List<byte[]> names = new ArrayList<>(byName.size());
+        for (final String name : byName.keySet()) {
+            names.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        names.sort(LineageSnapshot::compare);
+        final Map<String, Integer> indices = new HashMap<>(names.size() * 4 / 3 + 1);
+        for (int index = 0; index < names.size(); ++index) {
+            indices.put(new String(names.get(index), StandardCharsets.UTF_8), index);
+        }
+
+        final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(records);
+        final int recordsOffset = HEADER_SIZE + 4 * names.size();
+        final int[] offsets = new int[names.size()];
+        for (int index = 0; index < names.size(); ++index) {
+            final byte[] name = names.get(index);
+            final Class<?> type = byName.get(new String(name, StandardCharsets.UTF_8));
+            final List<Class<?>> superior = superior(type);
+            offsets[index] = recordsOffset + out.size();
+            out.writeShort(name.length);
+            out.write(name);
+            out.writeInt(superior.size());
+            for (final Class<?> superiorType : superior) {
+                out.writeInt(indices.get(superiorType.getName()));
+            }
+        }
+        out.flush();
+
+        try (final OutputStream stream = Files.newOutputStream(path)) {
+            final DataOutputStream file = new DataOutputStream(stream);
+            file.writeInt(MAGIC);
+            file.writeInt(VERSION);
+            file.writeLong(fingerprint);
+            file.writeInt(names.size());
+            for (final int offset : offsets) {
+                file.writeInt(offset);
+            }
+            records.writeTo(file);
+            file.flush();
+        }
+    }
+
+    private static List<Class<?>> superior(final Class<?> type) {
+        final List<Class<?>> result = new ArrayList<>();
+        Collections.addAll(result, type.getInterfaces());
+        if (null != type.getSuperclass()) {
+            result.add(type.getSuperclass());
+        }
+        return result;
+    }
+
+    private static int compare(final byte[] left, final byte[] right) {
+        final int limit = Math.min(left.length, right.length);
+        for (int index = 0; index < limit; ++index) {
+            final int result = (left[index] & 0xFF) - (right[index] & 0xFF);
+            if (0 != result) {
+                return result;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    /**
+     * Loads a snapshot from a file using the current {@link #fingerprint()}. Classes will be resolved using a given
+     * {@link ClassLoader}.
+     * <p>
+     * If the file is missing, corrupt or stale, the result is a snapshot that answers all queries by reflection.
+     */
+    public static LineageSnapshot load(final Path path, final ClassLoader loader) {
+        return load(path, loader, fingerprint());
+    }
+
+    /**
+     * Loads a snapshot from a file using a given fingerprint. Classes will be resolved using a given
+     * {@link ClassLoader}.
+     * <p>
+     * If the file is missing, corrupt or stale, the result is a snapshot that answers all queries by reflection.
+     */
+    public static LineageSnapshot load(final Path path, final ClassLoader loader, final long fingerprint) {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (Integer.MAX_VALUE < channel.size()) {
+                return new LineageSnapshot(loader, null, 0);
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if ((HEADER_SIZE > buffer.limit())
+                    || (MAGIC != buffer.getInt(0))
+                    || (VERSION != buffer.getInt(4))
+                    || (fingerprint != buffer.getLong(8))) {
+                return new LineageSnapshot(loader, null, 0);
+            }
+            final int count = buffer.getInt(16);
+            if ((0 > count) || (HEADER_SIZE + 4L * count > buffer.limit()) || !isConsistent(buffer, count)) {
+                return new LineageSnapshot(loader, null, 0);
+            }
+            return new LineageSnapshot(loader, buffer, count);
+        } catch (final IOException | IllegalArgumentException | BufferUnderflowException
+                | IndexOutOfBoundsException e) {
+            // A file that can't be read or mapped or that doesn't meet the expected structure is invalid ...
+            return new LineageSnapshot(loader, null, 0);
+        }
+    }
+
+    private static boolean isConsistent(final ByteBuffer buffer, final int count) {
+        for (int index = 0; index < count; ++index) {
+            final long record = buffer.getInt(HEADER_SIZE + 4 * index);
+            if ((HEADER_SIZE + 4L * count > record) || (record + 6 > buffer.limit()))
+                return false;
+            final long superior = record + 2 + (buffer.getShort((int) record) & 0xFFFF);
+            if (superior + 4 > buffer.limit())
+                return false;
+            final int superiorCount = buffer.getInt((int) superior);
+            if ((0 > superiorCount) || (superior + 4 + 4L * superiorCount > buffer.limit()))
+                return false;
+            for (int position = 0; position < superiorCount; ++position) {
+                final int target = buffer.getInt((int) superior + 4 + 4 * position);
+                if ((0 > target) || (target >= count))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether this snapshot is backed by a valid file. Otherwise all queries are answered by reflection.
+     */
+    public final boolean isValid() {
+        return null != buffer;
+    }
+
+    /**
+     * Returns the number of classes recorded in this snapshot.
+     */
+    public final int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves the names of the lineage hierarchy of a class given by its name, in the order of
+     * {@link Classes#lineageHierarchy(Class)}. If the class is recorded in this snapshot, no class gets loaded.
+     * Otherwise the class is loaded and its {@link Lineage} is used.
+     *
+     * @return the names or an empty {@link List} if the class is neither recorded nor can be loaded.
+     */
+    public final List<String> lineageNames(final String className) {
+        final int index = indexOf(className);
+        if (0 > index) {
+            return lineageByReflection(className).map(LineageSnapshot::namesOf)
+                                                 .orElseGet(Collections::emptyList);
+        }
+        final List<String> result = new ArrayList<>();
+        final boolean[] visited = new boolean[count];
+        final Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{index, 0});
+        visited[index] = true;
+        while (!stack.isEmpty()) {
+            final int[] top = stack.peek();
+            final int superiorOffset = superiorOffsetOf(top[0]);
+            if (top[1] < buffer.getInt(superiorOffset)) {
+                final int superior = buffer.getInt(superiorOffset + 4 + 4 * top[1]++);
+                if (!visited[superior]) {
+                    visited[superior] = true;
+                    stack.push(new int[]{superior, 0});
+                }
+            } else {
+                stack.pop();
+                result.add(nameOf(top[0]));
+            }
+        }
+        return unmodifiableList(result);
+    }
+
+    /**
+     * Retrieves the {@link Lineage} of a class given by its name. The class is loaded via the {@link ClassLoader}
+     * of this snapshot on the first access and then kept by this snapshot, while its lineage is just
+     * {@link Lineage#of(Class)}: the recorded hierarchy does not take part in building it. So this method only
+     * saves repeated class lookups by name.
+     *
+     * @return the lineage or {@link Optional#empty()} if the class can't be loaded.
+     */
+    public final Optional<Lineage> lineage(final String className) {
+        final int index = indexOf(className);
+        if (0 > index) {
+            return lineageByReflection(className);
+        }
+        Class<?> type = resolved.get(index);
+        if (null == type) {
+            final Optional<Class<?>> loaded = load(className);
+            if (!loaded.isPresent()) {
+                return Optional.empty();
+            }
+            type = loaded.get();
+            resolved.compareAndSet(index, null, type);
+        }
+        return Optional.of(Lineage.lookup(type));
+    }
+
+    private static List<String> namesOf(final Lineage lineage) {
+        final List<String> result = new ArrayList<>(lineage.size());
+        for (int index = 0; index < lineage.size(); ++index) {
+            result.add(lineage.get(index).getName());
+        }
+        return unmodifiableList(result);
+    }
+
+    private Optional<Lineage> lineageByReflection(final String className) {
+        return load(className).map(Lineage::of);
+    }
+
+    private Optional<Class<?>> load(final String className) {
+        try {
+            return Optional.of(Class.forName(className, false, loader));
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private int recordOf(final int index) {
+        return buffer.getInt(HEADER_SIZE + 4 * index);
+    }
+
+    private int nameLengthOf(final int record) {
+        return buffer.getShort(record) & 0xFFFF;
+    }
+
+    private int superiorOffsetOf(final int index) {
+        final int record = recordOf(index);
+        return record + 2 + nameLengthOf(record);
+    }
+
+    private String nameOf(final int index) {
+        final int record = recordOf(index);
+        final byte[] bytes = new byte[nameLengthOf(record)];
+        for (int position = 0; position < bytes.length; ++position) {
+            bytes[position] = buffer.get(record + 2 + position);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int indexOf(final String className) {
+        if (null == buffer)
+            return -1;
+        final byte[] name = className.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int result = compare(middle, name);
+            if (0 > result) {
+                low = middle + 1;
+            } else if (0 < result) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(final int index, final byte[] name) {
+        final int record = recordOf(index);
+        final int length = nameLengthOf(record);
+        final int limit = Math.min(length, name.length);
+        for (int position = 0; position < limit; ++position) {
+            final int result = (buffer.get(record + 2 + position) & 0xFF) - (name[position] & 0xFF);
+            if (0 != result) {
+                return result;
+            }
+        }
+        return length - name.length;
+    }
+}
@@ -0,0 +1,244 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+
+/**
+ * Resolves which method declarations override or implement each other within the
+ * {@link Classes#lineageHierarchy(Class) lineage hierarchy} of a class.
+ * <p>
+ * Two methods are related this way if they have the same name and, from the point of view of the class in question,
+ * the same parameter types after resolving their generic parameter types via its {@link GenericLineage} and
+ * erasing them. Static and private methods never override or get overridden, package private methods only within
+ * their package. A bridge method is resolved like the method it bridges to.
+ * <p>
+ * A table of the methods of a class is built once when first needed and cached just like
+ * {@link Lineage lineages}: it dies with its class and is evicted along with it by
+ * {@link Lineage#evict(ClassLoader)}. The table holds the results of all queries as precomputed immutable lists,
+ * so each query is a single lookup that neither filters nor copies.
+ */
+public final class MethodOverrides {
+
+    private static final ClassCache<Table> CACHE = new ClassCache<>(Table::new);
+    private static final Method[] NO_METHODS = {};
+
+    private MethodOverrides() {
+    }
+
+    /**
+     * Evicts the cached method tables of all classes defined by a given {@link ClassLoader}.
+     *
+     * @see Lineage#evict(ClassLoader)
+     */
+    static void evict(final ClassLoader loader) {
+        CACHE.evict(loader);
+    }
+
+    /**
+     * Determines the method declarations from the lineage hierarchy of its declaring class that a given method
+     * overrides or implements, nearest first (see {@link #implementations(Class, Method)}).
+     *
+     * @return an immutable list, empty if the given method doesn't override or implement anything.
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public static List<Method> overriddenBy(final Method method) {
+        final Table table = CACHE.get(method.getDeclaringClass());
+        return table.overridden.getOrDefault(table.target(method), Collections.emptyList());
+    }
+
+    /**
+     * Determines the method declarations from the lineage hierarchy of a given class that implement or override a
+     * given method or are the given method itself, when invoked on an instance of that class.
+     * <p>
+     * The result is ordered the way the effective implementation is chosen: declarations of classes by ascending
+     * {@link Lineage#distance(Class) distance} first, then declarations of interfaces by ascending distance and
+     * their order in {@link Lineage#stream()}. So, if the given class is not abstract, the first element is the
+     * effective implementation.
+     *
+     * @return an immutable list, empty if the declaring class of the given method is not part of the lineage of the
+     * given class or if the given method is static or private.
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public static List<Method> implementations(final Class<?> type, final Method method) {
+        final Table table = CACHE.get(type);
+        return table.implementations.getOrDefault(table.target(method), Collections.emptyList());
+    }
+
+    private static boolean isRelevant(final Method method) {
+        final int modifiers = method.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers);
+    }
+
+    private static boolean isPackagePrivate(final int modifiers) {
+        return 0 == (modifiers & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE));
+    }
+
+    private static boolean isSamePackage(final Class<?> left, final Class<?> right) {
+        return (left.getClassLoader() == right.getClassLoader()) && packageName(left).equals(packageName(right));
+    }
+
+    private static String packageName(final Class<?> type) {
+        final String name = type.getName();
+        final int index = name.lastIndexOf('.');
+        return (0 > index) ? "" : name.substring(0, index);
+    }
+
+    private static boolean isOverridable(final Method method, final Class<?> by) {
+        return !isPackagePrivate(method.getModifiers()) || isSamePackage(method.getDeclaringClass(), by);
+    }
+
+    /**
+     * Determines whether one of two methods of the same signature group may override the other, regardless of
+     * which one is declared by the subordinate class.
+     */
+    private static boolean isRelated(final Method method, final Method other) {
+        return isOverridable(method, other.getDeclaringClass()) && isOverridable(other, method.getDeclaringClass());
+    }
+
+    private static List<Method> filtered(final List<Method> group, final Predicate<Method> filter) {
+        final List<Method> result = new ArrayList<>(group.size());
+        for (final Method method : group) {
+            if (filter.test(method)) {
+                result.add(method);
+            }
+        }
+        return (result.size() == group.size())
+                ? group
+                : Collections.unmodifiableList(Arrays.asList(result.toArray(NO_METHODS)));
+    }
+
+    private static final class Table {
+
+        private final Map<Method, List<Method>> groups = new HashMap<>();
+        private final Map<Method, List<Method>> overridden = new HashMap<>();
+        private final Map<Method, List<Method>> implementations = new HashMap<>();
+        private final Map<Method, Method> bridges = new HashMap<>(0);
+
+        private Table(final Class<?> subject) {
+            final Lineage lineage = Lineage.lookup(subject);
+            final GenericLineage generic = GenericLineage.of(subject);
+            final Map<Signature, List<Method>> bySignature = new LinkedHashMap<>();
+            final List<Method> bridgeMethods = new ArrayList<>(0);
+            for (int index = 0; index < lineage.size(); ++index) {
+                final Class<?> declaring = lineage.get(index);
+                final Type view = generic.type(declaring).orElse(declaring);
+                for (final Method method : declaring.getDeclaredMethods()) {
+                    if (!isRelevant(method)) {
+                        continue;
+                    }
+                    if (method.isBridge()) {
+                        bridgeMethods.add(method);
+                    } else {
+                        bySignature.computeIfAbsent(new Signature(method, view), key -> new ArrayList<>(1))
+                                   .add(method);
+                    }
+                }
+            }
+            final Comparator<Method> order = order(lineage);
+            for (final List<Method> group : bySignature.values()) {
+                group.sort(order);
+                final List<Method> immutable = Collections.unmodifiableList(Arrays.asList(group.toArray(NO_METHODS)));
+                for (final Method method : group) {
+                    groups.put(method, immutable);
+                    implementations.put(method, filtered(immutable, other -> isRelated(other, method)));
+                    if (subject == method.getDeclaringClass()) {
+                        overridden.put(method, filtered(immutable, other -> !other.equals(method)
+                                && isOverridable(other, subject)));
+                    }
+                }
+            }
+            for (final Method bridge : bridgeMethods) {
+                bridges.put(bridge, bridged(bridge));
+            }
+        }
+
+        private static Comparator<Method> order(final Lineage lineage) {
+            final Comparator<Class<?>> order = Comparator.comparing((Class<?> type) -> type.isInterface())
+                                                         .thenComparingInt(lineage::distance)
+                                                         .thenComparingInt(lineage::indexOf);
+            return Comparator.comparing(Method::getDeclaringClass, order);
+        }
+
+        /**
+         * Determines the method a given bridge method bridges to: the (non-bridge) method of its declaring class
+         * with the same name and number of parameters that is related to a method with the same erased parameter
+         * types as the bridge method.
+         */
+        private Method bridged(final Method bridge) {
+            for (final Method candidate : bridge.getDeclaringClass().getDeclaredMethods()) {
+                if (!candidate.isBridge()
+                        && candidate.getName().equals(bridge.getName())
+                        && (candidate.getParameterCount() == bridge.getParameterCount())) {
+                    for (final Method other : groups.getOrDefault(candidate, Collections.emptyList())) {
+                        if (Arrays.equals(other.getParameterTypes(), bridge.getParameterTypes())) {
+                            return candidate;
+                        }
+                    }
+                }
+            }
+            return bridge;
+        }
+
+        private Method target(final Method method) {
+            return method.isBridge() ? bridges.getOrDefault(method, method) : method;
+        }
+    }
+
+    /**
+     * The name and erased parameter types of a method from the point of view of a particular class.
+     */
+    private static final class Signature {
+
+        private final String name;
+        private final Class<?>[] parameters;
+        private final int hash;
+
+        private Signature(final Method method, final Type view) {
+            this.name = method.getName();
+            this.parameters = (view instanceof ParameterizedType)
+                    ? erasures(method.getGenericParameterTypes(),
+                               method.getDeclaringClass().getTypeParameters(),
+                               ((ParameterizedType) view).getActualTypeArguments())
+                    : method.getParameterTypes();
+            this.hash = Objects.hash(name, Arrays.hashCode(parameters));
+        }
+
+        private static Class<?>[] erasures(final Type[] types, final TypeVariable<?>[] variables,
+                                           final Type[] arguments) {
+            final Class<?>[] result = new Class<?>[types.length];
+            for (int index = 0; index < types.length; ++index) {
+                result[index] = ResolvedTypes.erasure(ResolvedTypes.substitute(types[index], variables, arguments));
+            }
+            return result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Signature))
+                return false;
+            final Signature other = (Signature) obj;
+            return name.equals(other.name) && Arrays.equals(parameters, other.parameters);
+        }
+    }
+}
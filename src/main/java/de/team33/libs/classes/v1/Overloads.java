@@ -0,0 +1,302 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * Resolves the most specific of a set of overloaded methods or constructors that is applicable to the classes of
+ * given arguments, much like the compiler does for the static types of arguments.
+ * <p>
+ * Resolution follows the first two phases of the Java Language Specification (15.12.2):
+ * <ol>
+ * <li>executables that are applicable without boxing or unboxing are considered first,
+ * using primitive widening and {@link Class#isAssignableFrom(Class) reference widening} only;</li>
+ * <li>only if there are none, executables that are applicable with boxing or unboxing (and subsequent widening)
+ * are considered.</li>
+ * </ol>
+ * Among the applicable executables of a phase, the most specific one is the one whose parameter types are each
+ * convertible to the according parameter types of all others without boxing. On identical parameter types, one that
+ * is declared by a subclass of the declaring class of the other is more specific, so a method and a method it
+ * overrides are not ambiguous. Variable arity executables are treated like fixed arity executables with an
+ * array parameter.
+ * <p>
+ * An argument class {@code null} stands for an argument {@code null}, which is applicable to any parameter of a
+ * reference type.
+ * <p>
+ * The outcome is cached per tuple of argument classes, so repeated resolutions cost a single lookup after warm-up.
+ * The cache lives as long as the instance, so an instance should not outlive the class loaders of the classes it
+ * has been used with.
+ *
+ * @param <E> The type of the executables, {@link Method} or {@link Constructor}.
+ */
+public final class Overloads<E extends Executable> {
+
+    private static final String AMBIGUOUS = "ambiguous executables for arguments %s: %s";
+    private static final Map<Class<?>, Class<?>> BOXES = newBoxes();
+    private static final Map<Class<?>, Class<?>> UNBOXES = newUnboxes();
+    private static final Map<Class<?>, List<Class<?>>> WIDENINGS = newWidenings();
+
+    private final List<E> executables;
+    private final List<Candidate<E>> candidates;
+    private final Map<Key, List<E>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new instance with the given executables. Duplicates are ignored.
+     *
+     * @throws NullPointerException if the given Argument or any of its elements is {@code null}.
+     */
+    public Overloads(final Collection<? extends E> executables) {
+        final List<E> distinct = new ArrayList<>(new LinkedHashSet<>(executables));
+        this.candidates = new ArrayList<>(distinct.size());
+        for (final E executable : distinct) {
+            candidates.add(new Candidate<>(requireNonNull(executable)));
+        }
+        this.executables = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Returns a new instance of the public methods of a given class with a given name, including those that are
+     * inherited, except bridge methods.
+     *
+     * @throws NullPointerException if one of the given Arguments is {@code null}.
+     */
+    public static Overloads<Method> methods(final Class<?> type, final String name) {
+        final List<Method> result = new ArrayList<>();
+        for (final Method method : type.getMethods()) {
+            if (method.getName().equals(name) && !method.isBridge()) {
+                result.add(method);
+            }
+        }
+        return new Overloads<>(result);
+    }
+
+    /**
+     * Returns a new instance of the public constructors of a given class.
+     *
+     * @throws NullPointerException if the given Argument is {@code null}.
+     */
+    public static Overloads<Constructor<?>> constructors(final Class<?> type) {
+        return new Overloads<>(Arrays.asList(type.getConstructors()));
+    }
+
+    /**
+     * Returns the executables of this instance as an immutable list.
+     */
+    public final List<E> getExecutables() {
+        return executables;
+    }
+
+    /**
+     * Resolves the most specific executable that is applicable to arguments of the given classes, if any.
+     *
+     * @throws IllegalArgumentException if more than one applicable executable is maximally specific, so the
+     *                                  resolution is ambiguous (see {@link #mostSpecific(Class[])}).
+     * @throws NullPointerException     if the given array is {@code null}.
+     */
+    public final Optional<E> resolve(final Class<?>... arguments) {
+        final List<E> result = mostSpecific(arguments);
+        if (1 < result.size())
+            throw new IllegalArgumentException(String.format(AMBIGUOUS, Arrays.toString(arguments), result));
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    /**
+     * Determines the maximally specific executables that are applicable to arguments of the given classes.
+     *
+     * @return an immutable list that is empty if no executable is applicable, that contains exactly one executable
+     * if the resolution is unique and that contains more than one executable if the resolution is ambiguous.
+     * @throws NullPointerException if the given array is {@code null}.
+     */
+    public final List<E> mostSpecific(final Class<?>... arguments) {
+        final List<E> result = resolved.get(new Key(arguments));
+        return (null == result) ? cached(arguments.clone()) : result;
+    }
+
+    private List<E> cached(final Class<?>[] arguments) {
+        final List<E> result = select(arguments);
+        final List<E> previous = resolved.putIfAbsent(new Key(arguments), result);
+        return (null == previous) ? result : previous;
+    }
+
+    private List<E> select(final Class<?>[] arguments) {
+        for (final Phase phase : Phase.values()) {
+            final List<Candidate<E>> applicable = new ArrayList<>(candidates.size());
+            for (final Candidate<E> candidate : candidates) {
+                if (candidate.isApplicable(arguments, phase)) {
+                    applicable.add(candidate);
+                }
+            }
+            if (!applicable.isEmpty()) {
+                return maximal(applicable);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static <E extends Executable> List<E> maximal(final List<Candidate<E>> applicable) {
+        final List<E> result = new ArrayList<>(1);
+        for (final Candidate<E> candidate : applicable) {
+            if (applicable.stream().noneMatch(other -> other.isMoreSpecificThan(candidate))) {
+                result.add(candidate.executable);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static boolean isWidening(final Class<?> from, final Class<?> to) {
+        return (from == to) || WIDENINGS.getOrDefault(from, Collections.emptyList()).contains(to);
+    }
+
+    private static Map<Class<?>, Class<?>> newBoxes() {
+        final Map<Class<?>, Class<?>> result = new HashMap<>();
+        result.put(boolean.class, Boolean.class);
+        result.put(byte.class, Byte.class);
+        result.put(short.class, Short.class);
+        result.put(char.class, Character.class);
+        result.put(int.class, Integer.class);
+        result.put(long.class, Long.class);
+        result.put(float.class, Float.class);
+        result.put(double.class, Double.class);
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Map<Class<?>, Class<?>> newUnboxes() {
+        final Map<Class<?>, Class<?>> result = new HashMap<>();
+        BOXES.forEach((primitive, box) -> result.put(box, primitive));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Map<Class<?>, List<Class<?>>> newWidenings() {
+        final Map<Class<?>, List<Class<?>>> result = new HashMap<>();
+        result.put(byte.class, Arrays.asList(short.class, int.class, long.class, float.class, double.class));
+        result.put(short.class, Arrays.asList(int.class, long.class, float.class, double.class));
+        result.put(char.class, Arrays.asList(int.class, long.class, float.class, double.class));
+        result.put(int.class, Arrays.asList(long.class, float.class, double.class));
+        result.put(long.class, Arrays.asList(float.class, double.class));
+        result.put(float.class, Collections.singletonList(double.class));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * The phases of the resolution, each defining how an argument may be converted to a parameter type.
+     */
+    private enum Phase {
+
+        /**
+         * Identity and widening conversions only.
+         */
+        STRICT {
+            @Override
+            boolean isConvertibleValue(final Class<?> from, final Class<?> to) {
+                if (from.isPrimitive() || to.isPrimitive())
+                    return from.isPrimitive() && to.isPrimitive() && isWidening(from, to);
+                return to.isAssignableFrom(from);
+            }
+        },
+
+        /**
+         * Like {@link #STRICT}, but additionally boxing or unboxing followed by widening.
+         */
+        LOOSE {
+            @Override
+            boolean isConvertibleValue(final Class<?> from, final Class<?> to) {
+                if (to.isPrimitive()) {
+                    final Class<?> primitive = from.isPrimitive() ? from : UNBOXES.get(from);
+                    return (null != primitive) && isWidening(primitive, to);
+                }
+                return to.isAssignableFrom(from.isPrimitive() ? BOXES.get(from) : from);
+            }
+        };
+
+        /**
+         * Determines whether an argument of a given class (or {@code null} for a {@code null} argument) is
+         * convertible to a given parameter type in this phase. There are no arguments of a primitive type without
+         * a box, i.e. {@code void}, so such a class is never convertible.
+         */
+        final boolean isConvertible(final Class<?> from, final Class<?> to) {
+            if (null == from)
+                return !to.isPrimitive();
+            if (from.isPrimitive() && !BOXES.containsKey(from))
+                return false;
+            return isConvertibleValue(from, to);
+        }
+
+        /**
+         * Like {@link #isConvertible(Class, Class)} for a class that is neither {@code null} nor {@code void}.
+         */
+        abstract boolean isConvertibleValue(final Class<?> from, final Class<?> to);
+    }
+
+    private static final class Candidate<E extends Executable> {
+
+        private final E executable;
+        private final Class<?>[] parameters;
+
+        private Candidate(final E executable) {
+            this.executable = executable;
+            this.parameters = executable.getParameterTypes();
+        }
+
+        private boolean isApplicable(final Class<?>[] arguments, final Phase phase) {
+            if (parameters.length != arguments.length)
+                return false;
+            for (int index = 0; index < parameters.length; ++index) {
+                if (!phase.isConvertible(arguments[index], parameters[index]))
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean isMoreSpecificThan(final Candidate<?> other) {
+            if ((this == other) || !other.isApplicable(parameters, Phase.STRICT))
+                return false;
+            if (!isApplicable(other.parameters, Phase.STRICT))
+                return true;
+            final Class<?> declaring = executable.getDeclaringClass();
+            final Class<?> otherDeclaring = other.executable.getDeclaringClass();
+            return (declaring != otherDeclaring) && Classes.isLineage(otherDeclaring, declaring);
+        }
+    }
+
+    /**
+     * A tuple of argument classes as a key of the cache.
+     */
+    private static final class Key {
+
+        private final Class<?>[] arguments;
+        private final int hash;
+
+        private Key(final Class<?>[] arguments) {
+            this.arguments = arguments;
+            this.hash = Arrays.hashCode(arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            return Arrays.equals(arguments, ((Key) obj).arguments);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package de.team33.libs.classes.v1;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Substitutes type variables within generic types and provides the resulting types.
+ * <p>
+ * The resulting types are equal to (and have the same hash codes as) the corresponding types provided by the JDK
+ * via reflection, e.g. by {@link java.lang.reflect.Field#getGenericType()}.
+ */
+final class ResolvedTypes {
+
+    private ResolvedTypes() {
+    }
+
+    /**
+     * Substitutes the given type variables by the corresponding arguments within a given type.
+     * Returns the given type itself if it does not contain any of the given type variables.
+     */
+    static Type substitute(final Type type, final TypeVariable<?>[] variables, final Type[] arguments) {
+        if (type instanceof TypeVariable) {
+            for (int index = 0; index < variables.length; ++index) {
+                if (variables[index].equals(type)) {
+                    return arguments[index];
+                }
+            }
+            return type;
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final Type owner = parameterized.getOwnerType();
+            final Type[] original = parameterized.getActualTypeArguments();
+            final Type[] substituted = substitute(original, variables, arguments);
+            final Type newOwner = (null == owner) ? null : substitute(owner, variables, arguments);
+            return ((original == substituted) && (owner == newOwner))
+                    ? type
+                    : new Parameterized((Class<?>) parameterized.getRawType(), substituted, newOwner);
+        }
+        if (type instanceof GenericArrayType) {
+            final Type component = ((GenericArrayType) type).getGenericComponentType();
+            final Type substituted = substitute(component, variables, arguments);
+            if (component == substituted) {
+                return type;
+            }
+            return (substituted instanceof Class)
+                    ? Array.newInstance((Class<?>) substituted, 0).getClass()
+                    : new GenericArray(substituted);
+        }
+        if (type instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType) type;
+            final Type[] upper = wildcard.getUpperBounds();
+            final Type[] lower = wildcard.getLowerBounds();
+            final Type[] newUpper = substitute(upper, variables, arguments);
+            final Type[] newLower = substitute(lower, variables, arguments);
+            return ((upper == newUpper) && (lower == newLower)) ? type : new Wildcard(newUpper, newLower);
+        }
+        return type;
+    }
+
+    /**
+     * Substitutes the given type variables like {@link #substitute(Type, TypeVariable[], Type[])} within each of the
+     * given types. Returns the given array itself if none of its elements is affected.
+     */
+    private static Type[] substitute(final Type[] types, final TypeVariable<?>[] variables, final Type[] arguments) {
+        Type[] result = types;
+        for (int index = 0; index < types.length; ++index) {
+            final Type substituted = substitute(types[index], variables, arguments);
+            if (substituted != types[index]) {
+                if (result == types) {
+                    result = Arrays.copyOf(types, types.length, Type[].class);
+                }
+                result[index] = substituted;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines the erasure of a given type, that is, the raw class of a parameterized type, the erasure of the
+     * leftmost bound of a type variable or wildcard, or the array class of the erasure of a generic component type.
+     */
+    static Class<?> erasure(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            final Class<?> component = erasure(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(component, 0).getClass();
+        }
+        if (type instanceof TypeVariable) {
+            return erasure(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof WildcardType) {
+            return erasure(((WildcardType) type).getUpperBounds()[0]);
+        }
+        throw new IllegalArgumentException("unknown kind of type: " + type);
+    }
+
+    private static String typeNames(final Type[] types, final String delimiter) {
+        return Stream.of(types).map(Type::getTypeName).collect(Collectors.joining(delimiter));
+    }
+
+    /**
+     * A {@link ParameterizedType} whose type arguments can be accessed without copying.
+     */
+    static final class Parameterized implements ParameterizedType {
+
+        private final Class<?> rawType;
+        private final Type[] arguments;
+        private final Type ownerType;
+
+        Parameterized(final Class<?> rawType, final Type[] arguments, final Type ownerType) {
+            this.rawType = rawType;
+            this.arguments = arguments;
+            this.ownerType = ownerType;
+        }
+
+        final Type argument(final int index) {
+            return arguments[index];
+        }
+
+        @Override
+        public final Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public final Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public final Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof ParameterizedType))
+                return false;
+            final ParameterizedType other = (ParameterizedType) obj;
+            return rawType.equals(other.getRawType())
+                    && Objects.equals(ownerType, other.getOwnerType())
+                    && Arrays.equals(arguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public final String toString() {
+            final String prefix = (null == ownerType)
+                    ? rawType.getName()
+                    : ownerType.getTypeName() + "$" + rawType.getSimpleName();
+            return prefix + "<" + typeNames(arguments, ", ") + ">";
+        }
+    }
+
+    private static final class GenericArray implements GenericArrayType {
+
+        private final Type componentType;
+
+        private GenericArray(final Type componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        public final Type getGenericComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public final int hashCode() {
+            return componentType.hashCode();
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            return (this == obj) || ((obj instanceof GenericArrayType)
+                    && componentType.equals(((GenericArrayType) obj).getGenericComponentType()));
+        }
+
+        @Override
+        public final String toString() {
+            return componentType.getTypeName() + "[]";
+        }
+    }
+
+    private static final class Wildcard implements WildcardType {
+
+        private final Type[] upperBounds;
+        private final Type[] lowerBounds;
+
+        private Wildcard(final Type[] upperBounds, final Type[] lowerBounds) {
+            this.upperBounds = upperBounds;
+            this.lowerBounds = lowerBounds;
+        }
+
+        @Override
+        public final Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public final Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public final int hashCode() {
+            return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof WildcardType))
+                return false;
+            final WildcardType other = (WildcardType) obj;
+            return Arrays.equals(upperBounds, other.getUpperBounds())
+                    && Arrays.equals(lowerBounds, other.getLowerBounds());
+        }
+
+        @Override
+        public final String toString() {
+            if (0 < lowerBounds.length) {
+                return "? super " + typeNames(lowerBounds, " & ");
+            }
+            if ((0 == upperBounds.length) || Object.class.equals(upperBounds[0])) {
+                return "?";
+            }
+            return "? extends " + typeNames(upperBounds, " & ");
+        }
+    }
+}
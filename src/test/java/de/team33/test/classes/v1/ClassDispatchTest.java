@@ -0,0 +1,83 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.ClassDispatch;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ClassDispatchTest {
+
+    @Test
+    public final void lookupNearest() {
+        final ClassDispatch<String> dispatch = new ClassDispatch<>();
+        dispatch.put(Object.class, "Object");
+        dispatch.put(Collection.class, "Collection");
+        dispatch.put(List.class, "List");
+
+        assertEquals(Optional.of("List"), dispatch.lookup(ArrayList.class));
+        assertEquals(Optional.of("List"), dispatch.lookup(List.class));
+        assertEquals(Optional.of("Collection"), dispatch.lookup(Collection.class));
+        assertEquals(Optional.of("Object"), dispatch.lookup(String.class));
+        assertEquals(Optional.empty(), dispatch.lookup(CharSequence.class));
+    }
+
+    @Test
+    public final void lookupTieBreak() {
+        final ClassDispatch<String> dispatch = new ClassDispatch<>();
+        dispatch.put(Serializable.class, "Serializable");
+        dispatch.put(RandomAccess.class, "RandomAccess");
+        assertEquals("first declared interface should win",
+                     Optional.of("RandomAccess"), dispatch.lookup(ArrayList.class));
+
+        dispatch.put(AbstractList.class, "AbstractList");
+        assertEquals("class should win over interfaces at the same distance",
+                     Optional.of("AbstractList"), dispatch.lookup(ArrayList.class));
+    }
+
+    @Test
+    public final void invalidation() {
+        final ClassDispatch<String> dispatch = new ClassDispatch<>();
+        assertEquals(Optional.empty(), dispatch.lookup(LinkedList.class));
+
+        assertEquals(Optional.empty(), dispatch.put(Collection.class, "Collection"));
+        assertEquals(Optional.of("Collection"), dispatch.lookup(LinkedList.class));
+
+        assertEquals(Optional.empty(), dispatch.put(List.class, "List"));
+        assertEquals(Optional.of("List"), dispatch.lookup(LinkedList.class));
+
+        assertEquals(Optional.of("List"), dispatch.put(List.class, "another List"));
+        assertEquals(Optional.of("another List"), dispatch.lookup(LinkedList.class));
+
+        assertEquals(Optional.of("another List"), dispatch.remove(List.class));
+        assertEquals(Optional.empty(), dispatch.remove(List.class));
+        assertEquals(Optional.of("Collection"), dispatch.lookup(LinkedList.class));
+    }
+
+    @Test
+    public final void invalidationRepeated() {
+        final ClassDispatch<Integer> dispatch = new ClassDispatch<>();
+        dispatch.put(Collection.class, -1);
+        for (int index = 0; index < 1000; ++index) {
+            dispatch.put(List.class, index);
+            assertEquals(Optional.of(index), dispatch.lookup(ArrayList.class));
+            assertEquals(Optional.of(-1), dispatch.lookup(Collection.class));
+            dispatch.remove(List.class);
+            assertEquals(Optional.of(-1), dispatch.lookup(ArrayList.class));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public final void lookupNull() {
+        fail("Should fail but was " + new ClassDispatch<String>().lookup(null));
+    }
+}
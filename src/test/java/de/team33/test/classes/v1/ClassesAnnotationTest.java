@@ -0,0 +1,118 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ClassesAnnotationTest {
+
+    private static Optional<String> findTag(final Class<?> subject) {
+        return Classes.findAnnotation(subject, Tag.class).map(Tag::value);
+    }
+
+    private static List<String> findAllTags(final Class<?> subject) {
+        return Classes.findAllAnnotations(subject, Tag.class).stream().map(Tag::value).collect(Collectors.toList());
+    }
+
+    @Test
+    public final void findAnnotation() {
+        assertEquals(Optional.of("Base"), findTag(Base.class));
+        assertEquals(Optional.of("Sub"), findTag(Sub.class));
+        assertEquals(Optional.of("Base"), findTag(Plain.class));
+        assertEquals(Optional.of("Left"), findTag(Joined.class));
+    }
+
+    @Test
+    public final void findAnnotationOfInterface() {
+        // Class.getAnnotation(...) ignores annotations of interfaces ...
+        assertEquals(null, Implementing.class.getAnnotation(Tag.class));
+        assertEquals(Optional.of("Left"), findTag(Implementing.class));
+    }
+
+    @Test
+    public final void findAnnotationClassFirst() {
+        assertEquals(Optional.of("Base"), findTag(BaseAndRight.class));
+    }
+
+    @Test
+    public final void findAnnotationAbsent() {
+        assertEquals(Optional.empty(), findTag(String.class));
+        assertEquals(Optional.empty(), Classes.findAnnotation(Sub.class, Deprecated.class));
+        assertEquals(Optional.empty(), findTag(int.class));
+    }
+
+    @Test
+    public final void findAllAnnotations() {
+        assertEquals(Arrays.asList("Sub", "Base", "Left"), findAllTags(Sub.class));
+        assertEquals(Arrays.asList("Base", "Right", "Left"), findAllTags(BaseAndRight.class));
+        assertEquals(Arrays.asList("Right", "Base", "Left"), findAllTags(PlainAndRight.class));
+        assertEquals(Arrays.asList("Left", "Right"), findAllTags(Joined.class));
+        assertEquals(Collections.emptyList(), findAllTags(Object.class));
+    }
+
+    @Test
+    public final void findAllAnnotationsCached() {
+        assertSame(Classes.findAllAnnotations(Sub.class, Tag.class), Classes.findAllAnnotations(Sub.class, Tag.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public final void findAllAnnotationsImmutable() {
+        Classes.findAllAnnotations(Sub.class, Tag.class).clear();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public final void findAnnotationNullType() {
+        Classes.findAnnotation(Sub.class, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public final void findAnnotationNullSubject() {
+        Classes.findAnnotation(null, Tag.class);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Tag {
+        String value();
+    }
+
+    @Tag("Left")
+    private interface Left {
+    }
+
+    @Tag("Right")
+    private interface Right extends Left {
+    }
+
+    private interface Joined extends Left, Right {
+    }
+
+    private static class Implementing implements Left {
+    }
+
+    @Tag("Base")
+    private static class Base {
+    }
+
+    private static class Plain extends Base {
+    }
+
+    private static class BaseAndRight extends Base implements Right {
+    }
+
+    private static class PlainAndRight extends Plain implements Right {
+    }
+
+    @Tag("Sub")
+    private static class Sub extends Base implements Left {
+    }
+}
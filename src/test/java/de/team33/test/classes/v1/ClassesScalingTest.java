@@ -0,0 +1,95 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ClassesScalingTest {
+
+    private static final long SMALL_STACK = 1L << 17;
+
+    private final SyntheticClasses synthetic = new SyntheticClasses();
+
+    private static void runWithSmallStack(final Runnable runnable) throws InterruptedException {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(null, () -> {
+            try {
+                runnable.run();
+            } catch (final Throwable e) {
+                failure.set(e);
+            }
+        }, "small-stack", SMALL_STACK);
+        thread.start();
+        thread.join();
+        assertNull(String.valueOf(failure.get()), failure.get());
+    }
+
+    @Test(timeout = 10000)
+    public final void lineageClassesDeep() throws InterruptedException {
+        final int depth = 2000;
+        final Class<?> subject = synthetic.deepClasses(depth);
+        runWithSmallStack(() -> {
+            final List<Class<?>> result = Classes.lineageClasses(subject).collect(Collectors.toList());
+            assertEquals(depth + 1, result.size());
+            assertEquals(Object.class, result.get(0));
+            assertEquals(subject, result.get(depth));
+        });
+    }
+
+    @Test(timeout = 10000)
+    public final void lineageHierarchyDeepClasses() throws InterruptedException {
+        final int depth = 1000;
+        final Class<?> subject = synthetic.deepClasses(depth);
+        runWithSmallStack(() -> {
+            assertEquals(Classes.lineageClasses(subject).collect(Collectors.toList()),
+                         Classes.lineageHierarchy(subject).collect(Collectors.toList()));
+            assertEquals(depth, Classes.distance(Object.class, subject));
+        });
+    }
+
+    @Test(timeout = 10000)
+    public final void lineageHierarchyDeepInterfaces() throws InterruptedException {
+        final int depth = 1000;
+        final Class<?> subject = synthetic.deepInterfaces(depth);
+        runWithSmallStack(() -> {
+            final List<Class<?>> result = Classes.lineageHierarchy(subject).collect(Collectors.toList());
+            assertEquals(depth, result.size());
+            assertEquals(subject, result.get(depth - 1));
+            assertEquals(depth - 1, Classes.distance(result.get(0), subject));
+        });
+    }
+
+    @Test(timeout = 10000)
+    public final void lineageHierarchyDiamonds() {
+        final int layers = 20;
+        final int width = 2;
+        final Class<?> subject = synthetic.diamonds(layers, width);
+        final List<Class<?>> result = Classes.lineageHierarchy(subject).collect(Collectors.toList());
+
+        // all the interfaces, Object and the subject itself ...
+        assertEquals(layers * width + 2, result.size());
+        assertEquals(subject, result.get(result.size() - 1));
+        assertEquals(layers, Classes.distance(result.get(0), subject));
+        assertEquals(result.size(), Lineage.of(subject).size());
+    }
+
+    @Test(timeout = 10000)
+    public final void lineageHierarchyOrder() {
+        final Class<?> base = synthetic.newInterface();
+        final Class<?> left = synthetic.newInterface(base);
+        final Class<?> right = synthetic.newInterface(base);
+        final Class<?> top = synthetic.newClass(Object.class, right, left);
+        final Class<?> subject = synthetic.newClass(top, left);
+
+        assertEquals(asList(base, left, right, Object.class, top, subject),
+                     Classes.lineageHierarchy(subject).collect(Collectors.toList()));
+    }
+}
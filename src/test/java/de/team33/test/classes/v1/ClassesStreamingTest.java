@@ -1,5 +1,8 @@
 package de.team33.test.classes.v1;
 
+import de.team33.libs.classes.v1.Ancestor;
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
 import org.junit.Test;
 
 import java.io.Serializable;
@@ -14,8 +17,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 
+import static de.team33.libs.classes.v1.Classes.Streaming.BY_DISTANCE;
 import static de.team33.libs.classes.v1.Classes.Streaming.LINEAGE_HIERARCHY;
 import static de.team33.libs.classes.v1.Classes.Streaming.INTERFACES;
 import static de.team33.libs.classes.v1.Classes.Streaming.LINEAGE_CLASSES;
@@ -25,6 +30,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ClassesStreamingTest {
 
@@ -47,6 +53,13 @@ public class ClassesStreamingTest {
             Cloneable.class
     );
     private static final Class<?> ABSTRACT_STRING_BUILDER_CLASS = StringBuilder.class.getSuperclass();
+    private static final List<Classes.Streaming> STREAMINGS = asList(
+            SUPER_CLASS,
+            INTERFACES,
+            SUPERIOR,
+            LINEAGE_CLASSES,
+            LINEAGE_HIERARCHY
+    );
 
     @Test
     public void superClass() {
@@ -137,4 +150,87 @@ public class ClassesStreamingTest {
     private void lineageHierarchy(final Class<?> subject, final Class<?> ... expected) {
         assertEquals(asList(expected), LINEAGE_HIERARCHY.apply(subject).collect(Collectors.toList()));
     }
+
+    @Test
+    public void byDistance() {
+        assertEquals(asList(ArrayList.class, AbstractList.class, List.class, RandomAccess.class, Cloneable.class,
+                            Serializable.class, AbstractCollection.class, Collection.class, Object.class,
+                            Iterable.class),
+                     BY_DISTANCE.apply(ArrayList.class).collect(Collectors.toList()));
+        assertEquals(asList(0, 1, 1, 1, 1, 1, 2, 2, 3, 3),
+                     Classes.byDistance(ArrayList.class).map(Ancestor::getDistance).collect(Collectors.toList()));
+        assertEquals(emptyList(), BY_DISTANCE.apply(null).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void byDistanceConsistency() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final List<Class<?>> subjects = new ArrayList<>(CLASSES);
+        subjects.add(synthetic.diamonds(10, 3));
+        subjects.add(synthetic.newClass(synthetic.deepClasses(10), synthetic.deepInterfaces(3)));
+        subjects.forEach(subject -> {
+            final List<Ancestor> result = Classes.byDistance(subject).collect(Collectors.toList());
+            assertEquals(LINEAGE_HIERARCHY.apply(subject).collect(Collectors.toSet()),
+                         result.stream().map(Ancestor::getType).collect(Collectors.toSet()));
+            assertEquals(Lineage.of(subject).size(), result.size());
+            final List<Class<?>> nearestFirst = new ArrayList<>();
+            Lineage.of(subject).forEachAncestor(Lineage.Order.NEAREST_FIRST, nearestFirst::add);
+            assertEquals(nearestFirst, result.stream().map(Ancestor::getType).collect(Collectors.toList()));
+            assertEquals(result, Classes.byDistance(subject).parallel().collect(Collectors.toList()));
+            for (int index = 0; index < result.size(); ++index) {
+                final Ancestor ancestor = result.get(index);
+                assertEquals(Classes.distance(ancestor.getType(), subject), ancestor.getDistance());
+                assertTrue(0 == index || result.get(index - 1).getDistance() <= ancestor.getDistance());
+            }
+        });
+    }
+
+    @Test
+    public void byDistanceFindFirst() {
+        final Class<?> subject = new SyntheticClasses().diamonds(16, 2);
+        assertEquals(Optional.of(1), Classes.byDistance(subject)
+                                            .filter(ancestor -> ancestor.getType().isInterface())
+                                            .map(Ancestor::getDistance)
+                                            .findFirst());
+    }
+
+    @Test
+    public void byDistanceCharacteristics() {
+        CLASSES.forEach(subject -> {
+            final Spliterator<Ancestor> spliterator = Classes.byDistance(subject).spliterator();
+            final String message = subject.toString();
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.DISTINCT));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.ORDERED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.NONNULL));
+            assertEquals(message, Lineage.of(subject).size(), spliterator.getExactSizeIfKnown());
+        });
+    }
+
+    @Test
+    public void characteristics() {
+        STREAMINGS.forEach(streaming -> CLASSES.forEach(subject -> {
+            final Spliterator<Class<?>> spliterator = streaming.apply(subject).spliterator();
+            final String message = subject.toString();
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.DISTINCT));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.ORDERED));
+            assertTrue(message, spliterator.hasCharacteristics(Spliterator.NONNULL));
+            assertEquals(message, streaming.apply(subject).count(), spliterator.getExactSizeIfKnown());
+        }));
+    }
+
+    @Test
+    public void parallel() {
+        final Class<?> subject = new SyntheticClasses().deepClasses(100);
+        STREAMINGS.forEach(streaming -> assertEquals(streaming.apply(subject).collect(Collectors.toList()),
+                                                     streaming.apply(subject)
+                                                              .parallel()
+                                                              .collect(Collectors.toList())));
+        final Spliterator<Class<?>> spliterator = LINEAGE_CLASSES.apply(subject).spliterator();
+        final Spliterator<Class<?>> prefix = spliterator.trySplit();
+        assertTrue(1 >= Math.abs(spliterator.estimateSize() - prefix.estimateSize()));
+    }
 }
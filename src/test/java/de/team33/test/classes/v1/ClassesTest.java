@@ -1,6 +1,7 @@
 package de.team33.test.classes.v1;
 
 import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
 import org.junit.Test;
 
 import java.io.Serializable;
@@ -11,14 +12,20 @@ import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Stream;
 
+import static de.team33.test.classes.v1.Sets.setOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -81,6 +88,22 @@ public class ClassesTest {
         assertEquals(4, Classes.distance(Object.class, LinkedList.class));
     }
 
+    @Test
+    public void optionalDistance() {
+        CLASSES.forEach(subClass -> CLASSES.forEach(superClass -> {
+            final OptionalInt result = Classes.optionalDistance(superClass, subClass);
+            assertEquals(superClass + " > " + subClass, Classes.isLineage(superClass, subClass), result.isPresent());
+            result.ifPresent(value -> assertEquals(Classes.distance(superClass, subClass), value));
+        }));
+        assertFalse(Classes.optionalDistance(Object.class, List.class).isPresent());
+        assertFalse(Classes.optionalDistance(StringBuilder.class, List.class).isPresent());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void optionalDistanceNullAny() {
+        fail("Should fail but was " + Classes.optionalDistance(null, List.class));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void distanceInterfaceToObject() {
         fail("Should fail but was " + Classes.distance(Object.class, List.class));
@@ -111,6 +134,50 @@ public class ClassesTest {
         fail("Should fail but was " + Classes.distance(null, null));
     }
 
+    @Test
+    public void commonSuperclass() {
+        assertEquals(Optional.of(Number.class), Classes.commonSuperclass(Integer.class, Long.class, BigInteger.class));
+        assertEquals(Optional.of(AbstractList.class), Classes.commonSuperclass(ArrayList.class, LinkedList.class));
+        assertEquals(Optional.of(Object.class), Classes.commonSuperclass(String.class, ArrayList.class));
+        assertEquals(Optional.of(String.class), Classes.commonSuperclass(String.class));
+        assertEquals(Optional.empty(), Classes.commonSuperclass(ArrayList.class, List.class));
+        assertEquals(Optional.empty(), Classes.commonSuperclass(int.class, long.class));
+        assertEquals(Optional.empty(), Classes.commonSuperclass());
+    }
+
+    @Test
+    public void commonSupertypes() {
+        assertEquals(setOf(AbstractList.class, Cloneable.class, Serializable.class),
+                     Classes.commonSupertypes(ArrayList.class, LinkedList.class));
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Class<?> mixin = synthetic.newInterface();
+        final Class<?> base = synthetic.newClass(Object.class, synthetic.newInterface());
+        assertEquals(setOf(base, mixin), Classes.commonSupertypes(synthetic.newClass(base, mixin),
+                                                                   synthetic.newClass(base, mixin)));
+        assertEquals(setOf(Collection.class), Classes.commonSupertypes(List.class, Set.class, ArrayList.class));
+        assertEquals(setOf(String.class), Classes.commonSupertypes(String.class, String.class));
+        assertEquals(setOf(), Classes.commonSupertypes(List.class, String.class));
+        assertEquals(setOf(), Classes.commonSupertypes());
+    }
+
+    @Test
+    public void commonSupertypesPairs() {
+        CLASSES.forEach(left -> CLASSES.forEach(right -> {
+            final Set<Class<?>> common = new HashSet<>();
+            Classes.lineageHierarchy(left).filter(type -> Classes.isLineage(type, right)).forEach(common::add);
+            final Set<Class<?>> expected = new HashSet<>(common);
+            common.forEach(type -> expected.removeIf(other -> (other != type) && Classes.isLineage(other, type)));
+            final String message = left + " & " + right;
+            assertEquals(message, expected, Classes.commonSupertypes(left, right));
+            assertEquals(message, expected, Classes.commonSupertypes(right, left));
+        }));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void commonSupertypesNull() {
+        fail("Should fail but was " + Classes.commonSupertypes(List.class, null));
+    }
+
     @Test
     public void superiorNull() {
         assertEquals(0, Classes.superior(null).count());
@@ -160,4 +227,64 @@ public class ClassesTest {
         return superClass.equals(subClass) || Classes.superior(subClass)
                                                      .anyMatch(sub -> isAnalysedLineage(superClass, sub));
     }
+
+    @Test
+    public void specificity() {
+        final List<Class<?>> classes = new ArrayList<>(CLASSES);
+        classes.addAll(Arrays.asList(String[].class, Object[].class, CharSequence[].class, int[].class));
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        Classes.lineageHierarchy(synthetic.diamonds(8, 3)).forEach(classes::add);
+        Classes.lineageHierarchy(synthetic.newClass(synthetic.deepClasses(6), synthetic.deepInterfaces(4)))
+               .forEach(classes::add);
+        final List<Class<?>> distinct = new ArrayList<>(new LinkedHashSet<>(classes));
+        Collections.shuffle(distinct, new Random(0));
+        specificity(distinct);
+
+        final List<Class<?>> expected = new ArrayList<>(classes);
+        expected.sort(Classes.specificity());
+        Classes.sortBySpecificity(classes);
+        assertEquals(expected, classes);
+
+        final List<Class<?>> none = new ArrayList<>();
+        Classes.sortBySpecificity(none);
+        assertEquals(Collections.emptyList(), none);
+        final List<Class<?>> single = new ArrayList<>(Collections.singletonList(String.class));
+        Classes.sortBySpecificity(single);
+        assertEquals(Collections.singletonList(String.class), single);
+    }
+
+    private static void specificity(final List<Class<?>> classes) {
+        final Comparator<Class<?>> specificity = Classes.specificity();
+        for (final Class<?> left : classes) {
+            for (final Class<?> right : classes) {
+                final int result = Integer.signum(specificity.compare(left, right));
+                assertEquals(-result, Integer.signum(specificity.compare(right, left)));
+                assertEquals(left == right, 0 == result);
+                if ((left != right) && Lineage.of(right).contains(left)) {
+                    assertEquals(left + " > " + right, 1, result);
+                }
+            }
+        }
+
+        final List<Class<?>> sorted = new ArrayList<>(classes);
+        sorted.sort(specificity);
+        for (int index = 0; index < sorted.size(); ++index) {
+            for (int later = index + 1; later < sorted.size(); ++later) {
+                assertFalse(Lineage.of(sorted.get(later)).contains(sorted.get(index)));
+            }
+        }
+        Collections.shuffle(classes, new Random(1));
+        classes.sort(specificity);
+        assertEquals(sorted, classes);
+    }
+
+    @Test
+    public void specificityOrder() {
+        final List<Class<?>> classes = Arrays.asList(Object.class, Collection.class, AbstractList.class,
+                                                     ArrayList.class, List.class, Iterable.class);
+        classes.sort(Classes.specificity());
+        assertEquals(ArrayList.class, classes.get(0));
+        assertEquals(AbstractList.class, classes.get(1));
+        assertEquals(setOf(Object.class, Iterable.class), new HashSet<>(classes.subList(4, 6)));
+    }
 }
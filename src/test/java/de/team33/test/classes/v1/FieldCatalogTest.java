@@ -0,0 +1,142 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.FieldCatalog;
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FieldCatalogTest {
+
+    private static List<String> names(final List<Field> fields) {
+        return fields.stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    private static Field field(final Class<?> type, final String name) throws NoSuchFieldException {
+        return type.getDeclaredField(name);
+    }
+
+    @Test
+    public final void of() {
+        assertSame(FieldCatalog.of(Sub.class), FieldCatalog.of(Sub.class));
+    }
+
+    @Test
+    public final void fields() {
+        assertEquals(Arrays.asList("CONSTANT", "base", "cache", "value", "base"),
+                     names(FieldCatalog.of(Sub.class).fields()));
+    }
+
+    @Test
+    public final void instanceFields() {
+        assertEquals(Arrays.asList("base", "cache", "value", "base"),
+                     names(FieldCatalog.of(Sub.class).instanceFields()));
+    }
+
+    @Test
+    public final void significantFields() {
+        assertEquals(Arrays.asList("base", "value", "base"),
+                     names(FieldCatalog.of(Sub.class).significantFields()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public final void immutable() {
+        FieldCatalog.of(Sub.class).fields().clear();
+    }
+
+    @Test
+    public final void getter() throws Throwable {
+        final Sub sample = new Sub(278, "a value", 3.14);
+        final FieldCatalog catalog = FieldCatalog.of(Sub.class);
+        final MethodHandle base = catalog.getter(field(Base.class, "base"));
+        final MethodHandle value = catalog.getter(field(Sub.class, "value"));
+        assertSame(base, catalog.getter(field(Base.class, "base")));
+        assertEquals(278, (int) base.invokeExact((Base) sample));
+        assertEquals("a value", (String) value.invokeExact(sample));
+        assertEquals(3.14, (double) catalog.getter(field(Sub.class, "base")).invokeExact(sample), 0.0);
+        assertEquals(42L, (long) catalog.getter(field(Base.class, "CONSTANT")).invokeExact());
+    }
+
+    @Test
+    public final void setter() throws Throwable {
+        final Sub sample = new Sub(278, "a value", 3.14);
+        final FieldCatalog catalog = FieldCatalog.of(Sub.class);
+        catalog.setter(field(Base.class, "base")).invokeExact((Base) sample, 4);
+        catalog.setter(field(Sub.class, "value")).invokeExact(sample, "another value");
+        assertEquals(4, ((Base) sample).base);
+        assertEquals("another value", sample.value);
+        assertEquals(false, field(Sub.class, "value").isAccessible());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void setterStaticFinal() throws NoSuchFieldException {
+        FieldCatalog.of(Sub.class).setter(field(Base.class, "CONSTANT"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void getterForeign() throws NoSuchFieldException {
+        FieldCatalog.of(Base.class).getter(field(Sub.class, "value"));
+    }
+
+    @Test
+    public final void getterInternal() throws Throwable {
+        final Field internal = field(String.class, "value");
+        final MethodHandle getter;
+        try {
+            getter = FieldCatalog.of(String.class).getter(internal);
+        } catch (final IllegalStateException e) {
+            // Java 9+: java.base is not opened to this library ...
+            assertTrue(e.getMessage(), e.getMessage().contains("not accessible"));
+            assertEquals("java.lang.reflect.InaccessibleObjectException", e.getCause().getClass().getName());
+            return;
+        }
+        // Java 8 ...
+        assertEquals(internal.getType(), getter.type().returnType());
+        assertEquals("a sample", new String((char[]) getter.invoke("a sample")));
+    }
+
+    @Test
+    public final void setterInternal() throws NoSuchFieldException {
+        final Field internal = field(String.class, "hash");
+        try {
+            FieldCatalog.of(String.class).setter(internal);
+        } catch (final IllegalStateException e) {
+            assertEquals("java.lang.reflect.InaccessibleObjectException", e.getCause().getClass().getName());
+            return;
+        }
+        assertTrue(System.getProperty("java.specification.version").startsWith("1."));
+    }
+
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private static class Base {
+
+        private static final long CONSTANT = 42L;
+
+        private int base;
+        private transient Object cache;
+
+        private Base(final int base) {
+            this.base = base;
+        }
+    }
+
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private static class Sub extends Base {
+
+        private String value;
+        private double base;
+
+        private Sub(final int base, final String value, final double subBase) {
+            super(base);
+            this.value = value;
+            this.base = subBase;
+        }
+    }
+}
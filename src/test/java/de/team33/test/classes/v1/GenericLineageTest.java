@@ -0,0 +1,161 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.GenericLineage;
+import org.junit.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GenericLineageTest {
+
+    @SuppressWarnings("unused")
+    private List<String> listOfString;
+    @SuppressWarnings("unused")
+    private Collection<List<String>> collectionOfListOfString;
+    @SuppressWarnings("unused")
+    private Comparator<String[]> comparatorOfStringArray;
+    @SuppressWarnings("unused")
+    private Function<List<? extends Number>, Map.Entry<String, Integer>> function;
+
+    private static Type fieldType(final String name) throws NoSuchFieldException {
+        return GenericLineageTest.class.getDeclaredField(name).getGenericType();
+    }
+
+    private static TypeVariable<?> parameter(final Class<?> type, final int index) {
+        return type.getTypeParameters()[index];
+    }
+
+    @Test
+    public final void of() {
+        assertSame(GenericLineage.of(StringList.class), GenericLineage.of(StringList.class));
+    }
+
+    @Test
+    public final void resolve() {
+        final GenericLineage lineage = GenericLineage.of(StringList.class);
+        assertEquals(Optional.of(String.class), lineage.resolve(parameter(Collection.class, 0)));
+        assertEquals(Optional.of(String.class), lineage.resolve(parameter(Iterable.class, 0)));
+        assertEquals(Optional.of(String.class), lineage.resolve(parameter(ArrayList.class, 0)));
+        assertEquals(Optional.empty(), lineage.resolve(parameter(Map.class, 0)));
+    }
+
+    @Test
+    public final void typeArgument() {
+        final GenericLineage lineage = GenericLineage.of(StringList.class);
+        assertEquals(Optional.of(String.class), lineage.typeArgument(List.class, 0));
+        assertEquals(Optional.empty(), lineage.typeArgument(Object.class, 0));
+        assertEquals(Optional.empty(), lineage.typeArgument(Map.class, 0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void typeArgumentOutOfBounds() {
+        GenericLineage.of(StringList.class).typeArgument(List.class, 1);
+    }
+
+    @Test
+    public final void type() throws NoSuchFieldException {
+        assertEquals(Optional.of(fieldType("listOfString")), GenericLineage.of(StringList.class).type(List.class));
+        assertEquals(Optional.of(Object.class), GenericLineage.of(StringList.class).type(Object.class));
+        assertEquals(Optional.empty(), GenericLineage.of(StringList.class).type(Map.class));
+    }
+
+    @Test
+    public final void typeNested() throws NoSuchFieldException {
+        final Type expected = fieldType("collectionOfListOfString");
+        final Optional<Type> result = GenericLineage.of(NestedStringList.class).type(Collection.class);
+        assertEquals(Optional.of(expected), result);
+        assertEquals(expected.hashCode(), result.map(Type::hashCode).orElse(0).intValue());
+    }
+
+    @Test
+    public final void typeArray() throws NoSuchFieldException {
+        assertEquals(Optional.of(fieldType("comparatorOfStringArray")),
+                     GenericLineage.of(StringArrayComparator.class).type(Comparator.class));
+    }
+
+    @Test
+    public final void typeWildcard() throws NoSuchFieldException {
+        assertEquals(Optional.of(fieldType("function")),
+                     GenericLineage.of(NumbersToEntry.class).type(Function.class));
+    }
+
+    @Test
+    public final void typeOfSubject() {
+        final GenericLineage lineage = GenericLineage.of(Nested.class);
+        final TypeVariable<?> parameter = parameter(Nested.class, 0);
+        assertEquals(Optional.of(parameter), lineage.resolve(parameter));
+        assertEquals(Optional.of(parameter), lineage.typeArgument(Collection.class, 0)
+                                                    .map(ParameterizedType.class::cast)
+                                                    .map(type -> type.getActualTypeArguments()[0]));
+    }
+
+    @Test
+    public final void typeMapEntry() {
+        final GenericLineage lineage = GenericLineage.of(Swapped.class);
+        assertEquals(Optional.of(Integer.class), lineage.resolve(parameter(Map.Entry.class, 0)));
+        assertEquals(Optional.of(String.class), lineage.resolve(parameter(Map.Entry.class, 1)));
+    }
+
+    @Test
+    public final void raw() {
+        final GenericLineage lineage = GenericLineage.of(RawList.class);
+        assertEquals(Optional.of(Collection.class), lineage.type(Collection.class));
+        assertEquals(Optional.empty(), lineage.resolve(parameter(Collection.class, 0)));
+    }
+
+    @SuppressWarnings("serial")
+    private static class StringList extends ArrayList<String> {
+    }
+
+    @SuppressWarnings("serial")
+    private static class Nested<T> extends ArrayList<List<T>> {
+    }
+
+    @SuppressWarnings("serial")
+    private static class NestedStringList extends Nested<String> {
+    }
+
+    private abstract static class ArrayComparator<T> implements Comparator<T[]> {
+    }
+
+    private abstract static class StringArrayComparator extends ArrayComparator<String> {
+    }
+
+    private abstract static class GenericFunction<A, B, C> implements Function<List<? extends A>, Map.Entry<B, C>> {
+    }
+
+    private abstract static class NumbersToEntry extends GenericFunction<Number, String, Integer> {
+    }
+
+    @SuppressWarnings("serial")
+    private static class Entry<K, V> extends AbstractMap.SimpleEntry<V, K> {
+
+        private Entry(final V key, final K value) {
+            super(key, value);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class Swapped extends Entry<String, Integer> {
+
+        private Swapped() {
+            super(0, "");
+        }
+    }
+
+    @SuppressWarnings({"serial", "rawtypes"})
+    private static class RawList extends ArrayList {
+    }
+}
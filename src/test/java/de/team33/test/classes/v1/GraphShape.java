@@ -0,0 +1,47 @@
+package de.team33.test.classes.v1;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shapes of random class graphs as defined by {@link SyntheticClasses#randomGraph(Random, int, int, int, int)}.
+ */
+public enum GraphShape {
+
+    /**
+     * Long chains of classes and interfaces with few interfaces per type.
+     */
+    DEEP(30, 1, 2),
+
+    /**
+     * Shallow hierarchies with many interfaces per type.
+     */
+    WIDE(50, 8, 64),
+
+    /**
+     * Mostly interfaces, each extending up to two of a few recent ones, so that many paths lead to the same types.
+     */
+    DIAMONDS(90, 2, 2),
+
+    /**
+     * Something in between.
+     */
+    MIXED(40, 3, 12);
+
+    private final int interfacePercent;
+    private final int maxInterfaces;
+    private final int window;
+
+    GraphShape(final int interfacePercent, final int maxInterfaces, final int window) {
+        this.interfacePercent = interfacePercent;
+        this.maxInterfaces = maxInterfaces;
+        this.window = window;
+    }
+
+    /**
+     * Defines a new random graph of this shape with {@code size} types, reproducible by a given {@code seed}.
+     */
+    public final List<Class<?>> define(final SyntheticClasses synthetic, final long seed, final int size) {
+        return synthetic.randomGraph(new Random(seed), size, interfacePercent, maxInterfaces, window);
+    }
+}
@@ -0,0 +1,123 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.HierarchyIndex;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractSequentialList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static de.team33.test.classes.v1.Sets.setOf;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HierarchyIndexTest {
+
+    private static final List<Class<?>> CLASSES = asList(
+            ArrayList.class,
+            LinkedList.class,
+            HashSet.class,
+            TreeSet.class,
+            String.class,
+            Integer.class);
+
+    private final HierarchyIndex index = HierarchyIndex.of(CLASSES);
+
+    @Test
+    public final void subtypesOf() {
+        index.classes().forEach(type -> {
+            final Set<Class<?>> expected = index.classes().stream()
+                                                .filter(other -> !other.equals(type))
+                                                .filter(other -> Classes.isLineage(type, other))
+                                                .collect(Collectors.toSet());
+            assertEquals(type.toString(), expected, new HashSet<>(index.subtypesOf(type)));
+        });
+    }
+
+    @Test
+    public final void directSubtypesOf() {
+        assertEquals(setOf(AbstractList.class, AbstractSet.class), index.directSubtypesOf(AbstractCollection.class));
+        assertEquals(setOf(ArrayList.class, AbstractSequentialList.class), index.directSubtypesOf(AbstractList.class));
+    }
+
+    @Test
+    public final void subtypesOfDistance() {
+        final Set<Class<?>> result = index.subtypesOf(Collection.class, 2);
+        result.forEach(type -> assertTrue(type.toString(), Classes.distance(Collection.class, type) <= 2));
+        assertTrue(result.contains(ArrayList.class));
+        assertFalse(result.contains(TreeSet.class));
+
+        // nearest first ...
+        final Set<Class<?>> direct = index.directSubtypesOf(Collection.class);
+        assertEquals(direct, index.subtypesOf(Collection.class).stream()
+                                  .limit(direct.size())
+                                  .collect(Collectors.toSet()));
+    }
+
+    @Test
+    public final void register() {
+        final HierarchyIndex index = new HierarchyIndex();
+        assertEquals(setOf(), index.subtypesOf(Serializable.class));
+
+        index.register(Integer.class);
+        assertEquals(setOf(Number.class, Integer.class), index.subtypesOf(Serializable.class));
+
+        index.registerAll(asList(Long.class, String.class));
+        assertEquals(setOf(Number.class, Integer.class, Long.class, String.class),
+                     index.subtypesOf(Serializable.class));
+    }
+
+    @Test
+    public final void registerConcurrently() throws Exception {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Class<?> root = synthetic.deepInterfaces(3);
+        final Class<?> trunk = synthetic.newClass(synthetic.deepClasses(30), root);
+        final List<Class<?>> subjects = new ArrayList<>();
+        for (int index = 0; index < 100; ++index) {
+            subjects.add(synthetic.newClass(synthetic.newClass(trunk)));
+        }
+        final HierarchyIndex index = new HierarchyIndex();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; ++thread) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (final Class<?> subject : subjects) {
+                        index.register(subject);
+                        assertTrue(subject.toString(), index.subtypesOf(root).contains(subject));
+                        index.classes().forEach(type -> assertTrue(
+                                type.toString(),
+                                (null == type.getSuperclass())
+                                        || index.directSubtypesOf(type.getSuperclass()).contains(type)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.GenericLineage;
+import de.team33.libs.classes.v1.Lineage;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LineageCacheTest {
+
+    private static Class<?> isolated(final Class<?> template) throws ClassNotFoundException {
+        final URL location = template.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[]{location}, null).loadClass(template.getName());
+    }
+
+    private static WeakReference<ClassLoader> isolatedLineage() throws ClassNotFoundException {
+        final Class<?> subject = isolated(Sample.class);
+        assertEquals(subject, Lineage.of(subject).stream().reduce((left, right) -> right).orElse(null));
+        assertEquals(Lineage.of(subject), GenericLineage.of(subject).lineage());
+        return new WeakReference<>(subject.getClassLoader());
+    }
+
+    @Test
+    public final void singleton() {
+        assertSame(Lineage.of(Sample.class), Lineage.of(Sample.class));
+    }
+
+    @Test
+    public final void weaklyHeld() throws ClassNotFoundException, InterruptedException {
+        final WeakReference<ClassLoader> loader = isolatedLineage();
+        for (int index = 0; (index < 20) && (null != loader.get()); ++index) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull("class loader should not be pinned by the lineage cache", loader.get());
+    }
+
+    @Test
+    public final void evict() throws ClassNotFoundException {
+        final Class<?> subject = isolated(Sample.class);
+        final Lineage lineage = Lineage.of(subject);
+        assertSame(lineage, Lineage.of(subject));
+
+        Lineage.evict(subject.getClassLoader());
+        assertNotSame(lineage, Lineage.of(subject));
+        assertEquals(lineage, Lineage.of(subject));
+        assertEquals(lineage.hashCode(), Lineage.of(subject).hashCode());
+        assertEquals(lineage.fingerprint(), Lineage.of(subject).fingerprint());
+    }
+
+    @Test
+    public final void evictGeneric() throws ClassNotFoundException {
+        final Class<?> subject = isolated(Sample.class);
+        final GenericLineage lineage = GenericLineage.of(subject);
+        assertSame(lineage, GenericLineage.of(subject));
+
+        Lineage.evict(subject.getClassLoader());
+        assertNotSame(lineage, GenericLineage.of(subject));
+        assertEquals(lineage, GenericLineage.of(subject));
+    }
+
+    @Test
+    public final void fingerprintAcrossLoaders() throws ClassNotFoundException {
+        final Lineage first = Lineage.of(isolated(Sample.class));
+        final Lineage second = Lineage.of(isolated(Sample.class));
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public final void limit() throws ClassNotFoundException {
+        final Class<?> first = isolated(Sample.class);
+        final Class<?> second = isolated(Sample.class);
+        Lineage.limit(1);
+        try {
+            final Lineage lineage = Lineage.of(first);
+            Lineage.of(second);
+            assertNotSame(lineage, Lineage.of(first));
+            assertEquals(lineage, Lineage.of(first));
+        } finally {
+            Lineage.limit(Integer.MAX_VALUE);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void limitZero() {
+        Lineage.limit(0);
+    }
+
+    public static class Sample implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,87 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Lineage;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LineageConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int SUBJECTS = 200;
+
+    /**
+     * Defines a new set of classes that share a deep trunk of classes and a few interfaces, so that cold lookups
+     * from different threads overlap in their ancestors.
+     */
+    private static List<Class<?>> newSubjects() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Class<?> trunk = synthetic.deepClasses(20);
+        final Class<?>[] mixins = {synthetic.deepInterfaces(5), synthetic.newInterface(), synthetic.newInterface()};
+        final List<Class<?>> result = new ArrayList<>(SUBJECTS);
+        for (int index = 0; index < SUBJECTS; ++index) {
+            final Class<?> parent = synthetic.newClass(trunk, mixins[index % mixins.length]);
+            result.add(synthetic.newClass(parent, mixins[(index + 1) % mixins.length]));
+        }
+        return result;
+    }
+
+    private static void coldStart(final ThreadKind kind) throws Exception {
+        final List<Class<?>> subjects = newSubjects();
+        final Map<Class<?>, Lineage> seen = new ConcurrentHashMap<>();
+        final AtomicInteger duplicates = new AtomicInteger(0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = kind.newExecutor(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int thread = 0; thread < THREADS; ++thread) {
+                final int offset = thread * SUBJECTS / THREADS;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int index = 0; index < SUBJECTS; ++index) {
+                        final Class<?> subject = subjects.get((offset + index) % SUBJECTS);
+                        Lineage.of(subject).stream().forEach(type -> {
+                            final Lineage lineage = Lineage.of(type);
+                            final Lineage previous = seen.putIfAbsent(type, lineage);
+                            if ((null != previous) && (previous != lineage)) {
+                                duplicates.incrementAndGet();
+                            }
+                        });
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("lineages must be unique per class", 0, duplicates.get());
+        assertTrue(seen.keySet().containsAll(subjects));
+    }
+
+    @Test
+    public final void coldStartPlatform() throws Exception {
+        coldStart(ThreadKind.PLATFORM);
+    }
+
+    @Test
+    public final void coldStartVirtual() throws Exception {
+        Assume.assumeTrue("virtual threads not available", ThreadKind.VIRTUAL.isAvailable());
+        coldStart(ThreadKind.VIRTUAL);
+    }
+}
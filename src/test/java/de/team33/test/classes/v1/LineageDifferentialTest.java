@@ -0,0 +1,185 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Ancestor;
+import de.team33.libs.classes.v1.ClassDispatch;
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks the optimized paths of the library against a {@link ReferenceLineage} on random graphs of each
+ * {@link GraphShape}.
+ */
+public class LineageDifferentialTest {
+
+    private static final long[] SEEDS = {0x5EED, 42};
+    private static final int SIZE = 120;
+
+    private static Map<String, List<Class<?>>> graphs() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Map<String, List<Class<?>>> result = new LinkedHashMap<>();
+        for (final GraphShape shape : GraphShape.values()) {
+            for (final long seed : SEEDS) {
+                result.put(shape + "/" + seed, shape.define(synthetic, seed, SIZE));
+            }
+        }
+        return result;
+    }
+
+    private static List<Class<?>> toList(final Lineage lineage, final Lineage.Order order) {
+        final List<Class<?>> result = new ArrayList<>(lineage.size());
+        lineage.forEachAncestor(order, result::add);
+        return result;
+    }
+
+    @Test
+    public final void lineage() {
+        graphs().forEach((name, graph) -> graph.forEach(subject -> {
+            final String message = name + ": " + subject;
+            final ReferenceLineage reference = new ReferenceLineage(subject);
+            final Lineage lineage = Lineage.of(subject);
+
+            assertEquals(message, reference.hierarchy(), lineage.stream().collect(Collectors.toList()));
+            assertEquals(message, reference.hierarchy(),
+                         Classes.lineageHierarchy(subject).collect(Collectors.toList()));
+            assertEquals(message, reference.hierarchy().size(), lineage.size());
+            assertEquals(message, ReferenceLineage.superclasses(subject),
+                         Classes.lineageClasses(subject).collect(Collectors.toList()));
+            assertEquals(message, ReferenceLineage.superior(subject),
+                         Classes.superior(subject).collect(Collectors.toList()));
+            assertEquals(message, ReferenceLineage.depth(subject, new HashMap<>()), lineage.depth());
+            for (int index = 0; index < lineage.size(); ++index) {
+                final Class<?> type = lineage.get(index);
+                assertEquals(message, reference.hierarchy().get(index), type);
+                assertEquals(message, reference.distance(type), lineage.distance(type));
+                assertEquals(message, reference.distance(type), Classes.distance(type, subject));
+            }
+        }));
+    }
+
+    @Test
+    public final void orders() {
+        graphs().forEach((name, graph) -> graph.forEach(subject -> {
+            final String message = name + ": " + subject;
+            final ReferenceLineage reference = new ReferenceLineage(subject);
+            final Lineage lineage = Lineage.of(subject);
+
+            assertEquals(message, reference.hierarchy(), toList(lineage, Lineage.Order.HIERARCHY));
+            assertEquals(message, reference.nearestFirst(), toList(lineage, Lineage.Order.NEAREST_FIRST));
+            assertEquals(message, reference.superclassesFirst(), toList(lineage, Lineage.Order.SUPERCLASSES_FIRST));
+
+            final List<Ancestor> byDistance = Classes.byDistance(subject).collect(Collectors.toList());
+            assertEquals(message, reference.nearestFirst(),
+                         byDistance.stream().map(Ancestor::getType).collect(Collectors.toList()));
+            byDistance.forEach(ancestor -> assertEquals(message, reference.distance(ancestor.getType()),
+                                                        ancestor.getDistance()));
+        }));
+    }
+
+    @Test
+    public final void relations() {
+        graphs().forEach((name, graph) -> {
+            final Map<Class<?>, ReferenceLineage> references = new HashMap<>();
+            graph.forEach(subject -> references.put(subject, new ReferenceLineage(subject)));
+            for (final Class<?> subClass : graph) {
+                final ReferenceLineage reference = references.get(subClass);
+                final Lineage lineage = Lineage.of(subClass);
+                for (final Class<?> superClass : graph) {
+                    final String message = name + ": " + superClass + " > " + subClass;
+                    final int distance = reference.distance(superClass);
+                    assertEquals(message, 0 <= distance, Classes.isLineage(superClass, subClass));
+                    assertEquals(message, 0 <= distance, lineage.contains(superClass));
+                    assertEquals(message, (0 > distance) ? OptionalInt.empty() : OptionalInt.of(distance),
+                                 Classes.optionalDistance(superClass, subClass));
+                }
+            }
+        });
+    }
+
+    @Test
+    public final void commonSupertypes() {
+        final Random random = new Random(7);
+        graphs().forEach((name, graph) -> {
+            for (int count = 0; count < SIZE; ++count) {
+                final Class<?> left = graph.get(random.nextInt(graph.size()));
+                final Class<?> right = graph.get(random.nextInt(graph.size()));
+                final String message = name + ": " + left + ", " + right;
+                assertEquals(message, referenceCommonSupertypes(left, right),
+                             Classes.commonSupertypes(left, right));
+                assertEquals(message, referenceCommonSuperclass(left, right),
+                             Classes.commonSuperclass(left, right));
+            }
+        });
+    }
+
+    private static Set<Class<?>> referenceCommonSupertypes(final Class<?> left, final Class<?> right) {
+        final Set<Class<?>> common = new HashSet<>(new ReferenceLineage(left).hierarchy());
+        common.retainAll(new ReferenceLineage(right).hierarchy());
+        final Set<Class<?>> result = new HashSet<>(common);
+        for (final Class<?> type : common) {
+            final List<Class<?>> superordinate = new ArrayList<>(new ReferenceLineage(type).hierarchy());
+            superordinate.remove(type);
+            result.removeAll(superordinate);
+        }
+        return result;
+    }
+
+    private static Optional<Class<?>> referenceCommonSuperclass(final Class<?> left, final Class<?> right) {
+        if (left.isInterface() || right.isInterface())
+            return Optional.empty();
+        final List<Class<?>> common = new ArrayList<>(ReferenceLineage.superclasses(left));
+        common.retainAll(ReferenceLineage.superclasses(right));
+        return Optional.of(common.get(common.size() - 1));
+    }
+
+    @Test
+    public final void dispatch() {
+        final Random random = new Random(11);
+        graphs().forEach((name, graph) -> {
+            final ClassDispatch<Class<?>> dispatch = new ClassDispatch<>();
+            final Set<Class<?>> registered = new HashSet<>();
+            for (final Class<?> type : graph) {
+                if (0 == random.nextInt(4)) {
+                    dispatch.put(type, type);
+                    registered.add(type);
+                }
+            }
+            for (final Class<?> subject : graph) {
+                final Optional<Class<?>> expected = new ReferenceLineage(subject).nearestFirst().stream()
+                                                                                 .filter(registered::contains)
+                                                                                 .findFirst();
+                assertEquals(name + ": " + subject, expected, dispatch.lookup(subject));
+            }
+        });
+    }
+
+    @Test
+    public final void specificity() {
+        graphs().forEach((name, graph) -> {
+            final List<Class<?>> sorted = new ArrayList<>(graph);
+            Classes.sortBySpecificity(sorted);
+            for (int index = 0; index < sorted.size(); ++index) {
+                final ReferenceLineage reference = new ReferenceLineage(sorted.get(index));
+                for (final Class<?> earlier : sorted.subList(0, index)) {
+                    assertFalse(name + ": " + earlier + " before " + sorted.get(index),
+                                0 < reference.distance(earlier));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.HierarchyIndex;
+import de.team33.libs.classes.v1.Lineage;
+import de.team33.libs.classes.v1.LineageSnapshot;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LineageSnapshotTest {
+
+    private static final List<Class<?>> CLASSES = asList(
+            ArrayList.class,
+            HashSet.class,
+            String.class,
+            BigInteger.class,
+            String[].class);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<String> names(final Class<?> subject) {
+        return Classes.lineageHierarchy(subject).map(Class::getName).collect(Collectors.toList());
+    }
+
+    private Path newSnapshot(final long fingerprint) throws IOException {
+        final Path result = folder.newFile().toPath();
+        LineageSnapshot.write(result, CLASSES, fingerprint);
+        return result;
+    }
+
+    @Test
+    public final void valid() throws IOException {
+        final LineageSnapshot snapshot = LineageSnapshot.load(newSnapshot(42), getClass().getClassLoader(), 42);
+        assertTrue(snapshot.isValid());
+        assertEquals(CLASSES.stream().flatMap(Classes::lineageHierarchy).distinct().count(), snapshot.size());
+        for (final Class<?> subject : CLASSES) {
+            assertEquals(names(subject), snapshot.lineageNames(subject.getName()));
+            assertSame(Lineage.of(subject), snapshot.lineage(subject.getName()).orElse(null));
+        }
+    }
+
+    @Test
+    public final void stale() throws IOException {
+        final LineageSnapshot snapshot = LineageSnapshot.load(newSnapshot(42), getClass().getClassLoader(), 43);
+        assertFalse(snapshot.isValid());
+        assertEquals(names(ArrayList.class), snapshot.lineageNames(ArrayList.class.getName()));
+        assertSame(Lineage.of(ArrayList.class), snapshot.lineage(ArrayList.class.getName()).orElse(null));
+    }
+
+    @Test
+    public final void corrupt() throws IOException {
+        final Path path = newSnapshot(42);
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+        final LineageSnapshot snapshot = LineageSnapshot.load(path, getClass().getClassLoader(), 42);
+        assertFalse(snapshot.isValid());
+        assertEquals(names(HashSet.class), snapshot.lineageNames(HashSet.class.getName()));
+    }
+
+    @Test
+    public final void truncated() throws IOException {
+        final Path path = newSnapshot(42);
+        final byte[] bytes = Files.readAllBytes(path);
+        for (int length = 0; length < bytes.length; length += Math.max(1, length / 8)) {
+            Files.write(path, Arrays.copyOf(bytes, length));
+            final LineageSnapshot snapshot = LineageSnapshot.load(path, getClass().getClassLoader(), 42);
+            assertFalse("length " + length, snapshot.isValid());
+            assertEquals(names(ArrayList.class), snapshot.lineageNames(ArrayList.class.getName()));
+            assertSame(Lineage.of(ArrayList.class), snapshot.lineage(ArrayList.class.getName()).orElse(null));
+        }
+    }
+
+    @Test
+    public final void garbled() throws IOException {
+        final Path path = newSnapshot(42);
+        final byte[] bytes = Files.readAllBytes(path);
+        final Random random = new Random(0);
+        for (int round = 0; round < 200; ++round) {
+            final byte[] garbled = bytes.clone();
+            for (int count = 0; count < 4; ++count) {
+                // keep the header, so the garbled content gets checked ...
+                garbled[20 + random.nextInt(garbled.length - 20)] = (byte) random.nextInt();
+            }
+            Files.write(path, garbled);
+            final LineageSnapshot snapshot = LineageSnapshot.load(path, getClass().getClassLoader(), 42);
+            for (final Class<?> subject : CLASSES) {
+                snapshot.lineageNames(subject.getName());
+            }
+        }
+    }
+
+    @Test
+    public final void missing() {
+        final LineageSnapshot snapshot = LineageSnapshot.load(folder.getRoot().toPath().resolve("missing"),
+                                                              getClass().getClassLoader());
+        assertFalse(snapshot.isValid());
+        assertEquals(names(String.class), snapshot.lineageNames(String.class.getName()));
+    }
+
+    @Test
+    public final void unknown() throws IOException {
+        final LineageSnapshot snapshot = LineageSnapshot.load(newSnapshot(42), getClass().getClassLoader(), 42);
+        assertEquals(Collections.emptyList(), snapshot.lineageNames("no.such.Class"));
+        assertEquals(Optional.empty(), snapshot.lineage("no.such.Class"));
+        assertEquals(names(Integer.class), snapshot.lineageNames(Integer.class.getName()));
+    }
+
+    @Test
+    public final void index() throws IOException {
+        final Path path = folder.newFile().toPath();
+        LineageSnapshot.write(path, HierarchyIndex.of(CLASSES));
+        final LineageSnapshot snapshot = LineageSnapshot.load(path, getClass().getClassLoader());
+        assertTrue(snapshot.isValid());
+        assertEquals(names(ArrayList.class), snapshot.lineageNames(ArrayList.class.getName()));
+    }
+
+    @Test
+    public final void cached() throws IOException {
+        Lineage.of(BigInteger.class);
+        final Path path = folder.newFile().toPath();
+        LineageSnapshot.writeCached(path);
+        final LineageSnapshot snapshot = LineageSnapshot.load(path, getClass().getClassLoader());
+        assertTrue(snapshot.isValid());
+        assertEquals(names(BigInteger.class), snapshot.lineageNames(BigInteger.class.getName()));
+    }
+}
@@ -0,0 +1,94 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.CacheStatistics;
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
+import de.team33.libs.classes.v1.LineageCacheMXBean;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LineageStatisticsTest {
+
+    private final SyntheticClasses synthetic = new SyntheticClasses();
+
+    @After
+    public final void after() {
+        Lineage.disableStatistics();
+    }
+
+    @Test
+    public final void statistics() {
+        final Class<?> subject = synthetic.deepClasses(3);
+        Lineage.enableStatistics();
+
+        Lineage.of(subject);
+        final CacheStatistics cold = Lineage.statistics();
+        assertEquals("subject and its two synthetic superclasses", 3, cold.getMisses());
+        assertEquals(0, cold.getHits());
+        assertTrue(cold.getEntries() >= 3);
+        assertTrue(cold.getMaxBuildTime() > 0);
+        assertTrue(cold.getBuildTime() >= cold.getMaxBuildTime());
+
+        Lineage.of(subject);
+        Lineage.of(subject);
+        final CacheStatistics warm = Lineage.statistics();
+        assertEquals(cold.getMisses(), warm.getMisses());
+        assertEquals(cold.getHits() + 2, warm.getHits());
+
+        Lineage.evict(subject.getClassLoader());
+        assertEquals(3, Lineage.statistics().getEvictions());
+    }
+
+    @Test
+    public final void internalLookups() {
+        final Class<?>[] interfaces = {synthetic.newInterface(), synthetic.newInterface(), synthetic.newInterface()};
+        for (final Class<?> type : interfaces) {
+            Lineage.of(type);
+        }
+        final Class<?> subject = synthetic.newClass(Object.class, interfaces);
+        Lineage.enableStatistics();
+
+        Lineage.of(subject);
+        Classes.distance(interfaces[0], subject);
+        Classes.isLineage(interfaces[1], subject);
+        final CacheStatistics statistics = Lineage.statistics();
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0, statistics.getHits());
+    }
+
+    @Test
+    public final void disabled() {
+        Lineage.enableStatistics();
+        Lineage.of(synthetic.newClass(Object.class));
+        Lineage.disableStatistics();
+        Lineage.of(synthetic.newClass(Object.class));
+
+        final CacheStatistics statistics = Lineage.statistics();
+        assertEquals(0, statistics.getMisses());
+        assertEquals(0, statistics.getHits());
+        assertTrue(statistics.getEntries() > 0);
+    }
+
+    @Test
+    public final void mxBean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(LineageCacheMXBean.OBJECT_NAME);
+        assertFalse(server.isRegistered(name));
+
+        Lineage.enableStatistics();
+        assertTrue(server.isRegistered(name));
+        Lineage.of(synthetic.newClass(Object.class));
+        assertEquals(1L, server.getAttribute(name, "Misses"));
+
+        Lineage.disableStatistics();
+        assertFalse(server.isRegistered(name));
+    }
+}
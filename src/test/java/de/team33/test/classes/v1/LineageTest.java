@@ -1,19 +1,28 @@
 package de.team33.test.classes.v1;
 
+import de.team33.libs.classes.v1.Classes;
 import de.team33.libs.classes.v1.Lineage;
 import org.junit.Test;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.AbstractCollection;
 import java.util.AbstractList;
 import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static de.team33.test.classes.v1.Sets.setOf;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
 
@@ -46,13 +55,186 @@ public class LineageTest {
         }
     }
 
+    @Test
+    public final void containsHierarchy() {
+        for (final Class<?> subClass : CLASSES) {
+            final Lineage lineage = Lineage.of(subClass);
+            for (final Class<?> superClass : CLASSES) {
+                assertEquals(superClass + " > " + subClass,
+                             Classes.isLineage(superClass, subClass), lineage.contains(superClass));
+            }
+        }
+    }
+
+    @Test
+    public final void containsAny() {
+        assertTrue(Lineage.of(ArrayList.class).containsAny(asList(String.class, Collection.class)));
+        assertFalse(Lineage.of(ArrayList.class).containsAny(asList(String.class, Set.class)));
+        assertFalse(Lineage.of(List.class).containsAny(asList(Object.class, Set.class)));
+        assertFalse(Lineage.of(List.class).containsAny(Collections.emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public final void containsNull() {
+        fail("Should fail but was " + Lineage.of(List.class).contains(null));
+    }
+
+    @Test
+    public final void distance() {
+        assertEquals(0, Lineage.of(ArrayList.class).distance(ArrayList.class));
+        assertEquals(1, Lineage.of(ArrayList.class).distance(List.class));
+        assertEquals(2, Lineage.of(ArrayList.class).distance(Collection.class));
+        assertEquals(3, Lineage.of(ArrayList.class).distance(Object.class));
+        assertEquals(-1, Lineage.of(List.class).distance(Object.class));
+        assertEquals(-1, Lineage.of(Collection.class).distance(List.class));
+    }
+
     @Test
     public final void stream() {
         assertEquals(setOf(Object.class), Lineage.of(Object.class).stream().collect(Collectors.toSet()));
     }
 
-    @SafeVarargs
-    private static <T> Set<T> setOf(final T... elements) {
-        return new HashSet<>(asList(elements));
+    @Test
+    public final void streamOrder() {
+        for (final Class<?> entry : CLASSES) {
+            assertEquals(Classes.lineageHierarchy(entry).collect(Collectors.toList()),
+                         Lineage.of(entry).stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public final void streamCharacteristics() {
+        final Spliterator<Class<?>> spliterator = Lineage.of(ArrayList.class).stream().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(Lineage.of(ArrayList.class).size(), spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public final void get() {
+        for (final Class<?> entry : CLASSES) {
+            final Lineage lineage = Lineage.of(entry);
+            final List<Class<?>> expected = lineage.stream().collect(Collectors.toList());
+            assertEquals(expected.size(), lineage.size());
+            for (int index = 0; index < lineage.size(); ++index) {
+                assertEquals(expected.get(index), lineage.get(index));
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void getOutOfBounds() {
+        fail("Should fail but was " + Lineage.of(Object.class).get(1));
+    }
+
+    @Test
+    public final void ofAll() {
+        final Map<Class<?>, Lineage> result = Lineage.ofAll(CLASSES);
+        final Set<Class<?>> expected = CLASSES.stream()
+                                              .flatMap(Classes::lineageHierarchy)
+                                              .collect(Collectors.toSet());
+        assertEquals(expected, result.keySet());
+        result.forEach((key, value) -> assertSame(Lineage.of(key), value));
+    }
+
+    @Test
+    public final void ofAllSynthetic() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Class<?> shared = synthetic.deepInterfaces(5);
+        final List<Class<?>> subjects = Stream.generate(() -> synthetic.newClass(synthetic.deepClasses(10), shared))
+                                              .limit(100)
+                                              .collect(Collectors.toList());
+        final Map<Class<?>, Lineage> result = Lineage.ofAll(subjects, new ForkJoinPool(4));
+        assertEquals(100 * 11 + 5 + 1, result.size());
+        subjects.forEach(subject -> {
+            assertSame(Lineage.of(subject), result.get(subject));
+            assertEquals(Classes.lineageHierarchy(subject).collect(Collectors.toList()),
+                         result.get(subject).stream().collect(Collectors.toList()));
+        });
+    }
+
+    @Test
+    public final void depth() {
+        assertEquals(0, Lineage.of(Object.class).depth());
+        assertEquals(0, Lineage.of(Iterable.class).depth());
+        assertEquals(2, Lineage.of(List.class).depth());
+        assertEquals(4, Lineage.of(ArrayList.class).depth());
+        CLASSES.forEach(type -> Classes.superior(type).forEach(superior -> assertTrue(
+                Lineage.of(superior).depth() < Lineage.of(type).depth())));
+    }
+
+    @Test
+    public final void fingerprint() {
+        final Set<Long> fingerprints = CLASSES.stream()
+                                              .map(type -> Lineage.of(type).fingerprint())
+                                              .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(CLASSES).size(), fingerprints.size());
+        assertEquals(Lineage.of(ArrayList.class).fingerprint(), Lineage.of(ArrayList.class).fingerprint());
+    }
+
+    @Test
+    public final void fingerprintDeep() {
+        final SyntheticClasses synthetic = new SyntheticClasses();
+        final Lineage left = Lineage.of(synthetic.diamonds(16, 2));
+        final Lineage right = Lineage.of(synthetic.diamonds(16, 2));
+        assertNotEquals(left.fingerprint(), right.fingerprint());
+        assertNotEquals(left, right);
+        assertEquals(left.hashCode(), (int) (left.fingerprint() ^ (left.fingerprint() >>> 32)));
+    }
+
+    private static List<Class<?>> visited(final Lineage lineage, final Lineage.Order order) {
+        final List<Class<?>> result = new ArrayList<>();
+        assertTrue(lineage.forEachAncestor(order, result::add));
+        return result;
+    }
+
+    private static List<Class<?>> sorted(final Lineage lineage, final Comparator<Class<?>> order) {
+        final List<Class<?>> hierarchy = lineage.stream().collect(Collectors.toList());
+        return hierarchy.stream()
+                        .sorted(order.thenComparingInt(hierarchy::indexOf))
+                        .collect(Collectors.toList());
+    }
+
+    @Test
+    public final void forEachAncestorHierarchy() {
+        for (final Class<?> entry : CLASSES) {
+            final Lineage lineage = Lineage.of(entry);
+            assertEquals(lineage.stream().collect(Collectors.toList()), visited(lineage, Lineage.Order.HIERARCHY));
+        }
+    }
+
+    @Test
+    public final void forEachAncestorNearestFirst() {
+        for (final Class<?> entry : CLASSES) {
+            final Lineage lineage = Lineage.of(entry);
+            final List<Class<?>> expected = sorted(lineage, Comparator.comparingInt(lineage::distance)
+                                                                      .thenComparing(Class::isInterface));
+            assertEquals(expected, visited(lineage, Lineage.Order.NEAREST_FIRST));
+            assertEquals(entry, expected.get(0));
+        }
+    }
+
+    @Test
+    public final void forEachAncestorSuperclassesFirst() {
+        for (final Class<?> entry : CLASSES) {
+            final Lineage lineage = Lineage.of(entry);
+            final List<Class<?>> expected = sorted(lineage, Comparator.comparing((Class<?> type) -> type.isInterface())
+                                                                      .thenComparingInt(lineage::distance));
+            assertEquals(expected, visited(lineage, Lineage.Order.SUPERCLASSES_FIRST));
+        }
+        assertEquals(asList(ArrayList.class, AbstractList.class, AbstractCollection.class, Object.class),
+                     visited(Lineage.of(ArrayList.class), Lineage.Order.SUPERCLASSES_FIRST).subList(0, 4));
+    }
+
+    @Test
+    public final void forEachAncestorStops() {
+        for (final Lineage.Order order : Lineage.Order.values()) {
+            final List<Class<?>> result = new ArrayList<>();
+            assertFalse(Classes.forEachAncestor(ArrayList.class, order,
+                                                type -> result.add(type) && (2 > result.size())));
+            assertEquals(2, result.size());
+        }
+        assertTrue(Lineage.of(String.class).forEachAncestor(type -> true));
     }
 }
@@ -0,0 +1,174 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.MethodOverrides;
+import de.team33.test.classes.v1.foreign.ForeignBase;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class MethodOverridesTest {
+
+    private static Method method(final Class<?> type, final String name, final Class<?>... parameters)
+            throws NoSuchMethodException {
+        return type.getDeclaredMethod(name, parameters);
+    }
+
+    private static Method bridge(final Class<?> type, final String name) {
+        return Stream.of(type.getDeclaredMethods())
+                     .filter(Method::isBridge)
+                     .filter(method -> method.getName().equals(name))
+                     .findAny()
+                     .orElseThrow(() -> new IllegalStateException("no bridge method <" + name + "> in " + type));
+    }
+
+    @Test
+    public final void overriddenByGeneric() throws NoSuchMethodException {
+        assertEquals(Collections.singletonList(method(Comparator.class, "compare", Object.class, Object.class)),
+                     MethodOverrides.overriddenBy(method(ByLength.class, "compare", String.class, String.class)));
+        assertEquals(Collections.singletonList(method(Base.class, "accept", Object.class)),
+                     MethodOverrides.overriddenBy(method(Sub.class, "accept", String.class)));
+    }
+
+    @Test
+    public final void overriddenByBridge() throws NoSuchMethodException {
+        assertEquals(MethodOverrides.overriddenBy(method(ByLength.class, "compare", String.class, String.class)),
+                     MethodOverrides.overriddenBy(bridge(ByLength.class, "compare")));
+        assertEquals(Collections.singletonList(method(Base.class, "get")),
+                     MethodOverrides.overriddenBy(bridge(Sub.class, "get")));
+    }
+
+    @Test
+    public final void overriddenByCovariant() throws NoSuchMethodException {
+        assertEquals(Collections.singletonList(method(Base.class, "get")),
+                     MethodOverrides.overriddenBy(method(Sub.class, "get")));
+    }
+
+    @Test
+    public final void overloadIsNoOverride() throws NoSuchMethodException {
+        assertEquals(Collections.emptyList(), MethodOverrides.overriddenBy(method(Sub.class, "accept", Integer.class)));
+    }
+
+    @Test
+    public final void privateIsNoOverride() throws NoSuchMethodException {
+        assertEquals(Collections.emptyList(), MethodOverrides.overriddenBy(method(Sub.class, "secret")));
+        assertEquals(Collections.emptyList(), MethodOverrides.overriddenBy(method(Base.class, "secret")));
+    }
+
+    @Test
+    public final void overriddenByJdk() throws NoSuchMethodException {
+        final List<Method> result = MethodOverrides.overriddenBy(method(ArrayList.class, "add", Object.class));
+        assertEquals(asList(method(AbstractList.class, "add", Object.class),
+                            method(AbstractCollection.class, "add", Object.class),
+                            method(List.class, "add", Object.class),
+                            method(Collection.class, "add", Object.class)),
+                     result);
+    }
+
+    @Test
+    public final void implementations() throws NoSuchMethodException {
+        final Method run = method(Runnable.class, "run");
+        assertEquals(asList(method(Task.class, "run"), run), MethodOverrides.implementations(SubTask.class, run));
+        assertEquals(Collections.emptyList(), MethodOverrides.implementations(Task.class, run));
+    }
+
+    @Test
+    public final void implementationsGeneric() throws NoSuchMethodException {
+        final Method accept = method(Base.class, "accept", Object.class);
+        assertEquals(asList(method(Sub.class, "accept", String.class), accept),
+                     MethodOverrides.implementations(Sub.class, accept));
+        assertEquals(MethodOverrides.implementations(Sub.class, accept),
+                     MethodOverrides.implementations(Sub.class, bridge(Sub.class, "accept")));
+    }
+
+    @Test
+    public final void packagePrivateOfOtherPackage() throws NoSuchMethodException {
+        final Method hidden = method(Foreign.class, "hidden");
+        final Method foreignHidden = method(ForeignBase.class, "hidden");
+        assertEquals(Collections.emptyList(), MethodOverrides.overriddenBy(hidden));
+        assertEquals(Collections.singletonList(hidden), MethodOverrides.implementations(Foreign.class, hidden));
+        assertEquals(Collections.singletonList(foreignHidden),
+                     MethodOverrides.implementations(Foreign.class, foreignHidden));
+
+        final Method visible = method(Foreign.class, "visible");
+        final Method foreignVisible = method(ForeignBase.class, "visible");
+        assertEquals(Collections.singletonList(foreignVisible), MethodOverrides.overriddenBy(visible));
+        assertEquals(asList(visible, foreignVisible), MethodOverrides.implementations(Foreign.class, foreignVisible));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public final void implementationsImmutable() throws NoSuchMethodException {
+        MethodOverrides.implementations(SubTask.class, method(Runnable.class, "run")).clear();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Foreign extends ForeignBase {
+
+        public void hidden() {
+        }
+
+        @Override
+        public void visible() {
+        }
+    }
+
+    private static class ByLength implements Comparator<String> {
+
+        @Override
+        public int compare(final String left, final String right) {
+            return Integer.compare(left.length(), right.length());
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Base<T> {
+
+        void accept(final T value) {
+        }
+
+        Object get() {
+            return null;
+        }
+
+        private void secret() {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Sub extends Base<String> {
+
+        @Override
+        void accept(final String value) {
+        }
+
+        void accept(final Integer value) {
+        }
+
+        @Override
+        String get() {
+            return "";
+        }
+
+        private void secret() {
+        }
+    }
+
+    public static class Task {
+
+        public void run() {
+        }
+    }
+
+    public static class SubTask extends Task implements Runnable {
+    }
+}
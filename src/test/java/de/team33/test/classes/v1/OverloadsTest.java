@@ -0,0 +1,168 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Overloads;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OverloadsTest {
+
+    private static final Overloads<Method> APPEND = Overloads.methods(StringBuilder.class, "append");
+    private static final Overloads<Method> TARGET = newOverloads("take");
+    private static final Overloads<Method> TARGET_PRIMITIVE = newOverloads("primitive");
+    private static final Overloads<Method> TARGET_MIXED = newOverloads("mixed");
+
+    private static Method append(final Class<?>... parameters) throws NoSuchMethodException {
+        return StringBuilder.class.getMethod("append", parameters);
+    }
+
+    private static Method method(final Class<?> type, final String name, final Class<?>... parameters)
+            throws NoSuchMethodException {
+        return type.getDeclaredMethod(name, parameters);
+    }
+
+    @Test
+    public final void resolveExact() throws NoSuchMethodException {
+        assertEquals(Optional.of(append(String.class)), APPEND.resolve(String.class));
+        assertEquals(Optional.of(append(int.class)), APPEND.resolve(int.class));
+        assertEquals(Optional.of(append(char[].class)), APPEND.resolve(char[].class));
+        assertEquals(Optional.of(append(CharSequence.class, int.class, int.class)),
+                     APPEND.resolve(StringBuilder.class, int.class, int.class));
+    }
+
+    @Test
+    public final void resolveWidening() throws NoSuchMethodException {
+        assertEquals(Optional.of(append(int.class)), APPEND.resolve(short.class));
+        assertEquals(Optional.of(append(int.class)), APPEND.resolve(byte.class));
+        assertEquals(Optional.of(append(float.class)), APPEND.resolve(float.class));
+        assertEquals(Optional.of(append(CharSequence.class)), APPEND.resolve(StringBuilder.class));
+        assertEquals(Optional.of(append(Object.class)), APPEND.resolve(ArrayList.class));
+    }
+
+    @Test
+    public final void resolveStrictBeforeBoxing() throws NoSuchMethodException {
+        // As with the compiler, append(Object) is applicable without unboxing, so it wins over append(int) ...
+        assertEquals(Optional.of(append(Object.class)), APPEND.resolve(Integer.class));
+        assertEquals(Optional.of(method(Target.class, "take", Number.class)), TARGET.resolve(Short.class));
+        assertEquals(Optional.of(method(Target.class, "take", long.class)), TARGET.resolve(int.class));
+        // ... while boxing or unboxing is used if necessary ...
+        assertEquals(Optional.of(method(Target.class, "take", Number.class)), TARGET.resolve(double.class));
+        assertEquals(Optional.of(method(Target.class, "primitive", long.class)),
+                     TARGET_PRIMITIVE.resolve(Short.class));
+    }
+
+    @Test
+    public final void resolveNone() {
+        assertEquals(Optional.empty(), APPEND.resolve());
+        assertEquals(Optional.empty(), APPEND.resolve(String.class, String.class));
+        assertEquals(Optional.empty(), TARGET.resolve(boolean.class));
+        assertEquals(Optional.empty(), TARGET.resolve(String.class));
+    }
+
+    @Test
+    public final void resolveVoid() {
+        assertEquals(Optional.empty(), APPEND.resolve(void.class));
+        assertEquals(Optional.empty(), TARGET.resolve(void.class));
+        assertEquals(Optional.empty(), TARGET_MIXED.resolve(void.class));
+        assertEquals(Optional.empty(), APPEND.resolve(void.class, int.class, int.class));
+    }
+
+    @Test
+    public final void ambiguous() throws NoSuchMethodException {
+        assertEquals(asList(method(Target.class, "mixed", Serializable.class),
+                            method(Target.class, "mixed", Comparable.class)),
+                     TARGET_MIXED.mostSpecific(String.class));
+        try {
+            TARGET_MIXED.resolve(String.class);
+            fail("expected to fail - but was not");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("ambiguous"));
+        }
+        assertEquals(Optional.of(method(Target.class, "mixed", Serializable.class)),
+                     TARGET_MIXED.resolve(int[].class));
+    }
+
+    @Test
+    public final void resolveNull() throws NoSuchMethodException {
+        assertEquals(Optional.of(method(Target.class, "take", Number.class)), TARGET.resolve((Class<?>) null));
+        assertEquals(new HashSet<>(asList(append(String.class), append(StringBuffer.class), append(char[].class))),
+                     new HashSet<>(APPEND.mostSpecific((Class<?>) null)));
+    }
+
+    @Test
+    public final void resolveOverridden() throws NoSuchMethodException {
+        final Overloads<Method> overloads = new Overloads<>(asList(method(Object.class, "toString"),
+                                                                   method(Target.class, "toString")));
+        assertEquals(Optional.of(method(Target.class, "toString")), overloads.resolve());
+    }
+
+    @Test
+    public final void constructors() throws NoSuchMethodException {
+        final Overloads<Constructor<?>> overloads = Overloads.constructors(ArrayList.class);
+        assertEquals(3, overloads.getExecutables().size());
+        assertEquals(Optional.of(ArrayList.class.getConstructor(int.class)), overloads.resolve(Integer.class));
+        assertEquals(Optional.of(ArrayList.class.getConstructor(Collection.class)),
+                     overloads.resolve(List.class));
+    }
+
+    @Test
+    public final void cached() {
+        final Class<?>[] arguments = {short.class};
+        final List<Method> result = APPEND.mostSpecific(arguments);
+        arguments[0] = String.class;
+        assertSame(result, APPEND.mostSpecific(short.class));
+        assertEquals(Collections.singletonList(APPEND.resolve(String.class).get()), APPEND.mostSpecific(arguments));
+    }
+
+    private static Overloads<Method> newOverloads(final String name) {
+        final List<Method> methods = new ArrayList<>();
+        for (final Method method : Target.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                methods.add(method);
+            }
+        }
+        methods.sort((left, right) -> left.toString().compareTo(right.toString()));
+        return new Overloads<>(methods);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Target {
+
+        void take(final long value) {
+        }
+
+        void take(final Number value) {
+        }
+
+        void primitive(final long value) {
+        }
+
+        void primitive(final boolean value) {
+        }
+
+        void mixed(final Serializable value) {
+        }
+
+        void mixed(final Comparable<?> value) {
+        }
+
+        @Override
+        public String toString() {
+            return "Target";
+        }
+    }
+}
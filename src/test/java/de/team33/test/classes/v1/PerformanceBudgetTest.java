@@ -0,0 +1,148 @@
+package de.team33.test.classes.v1;
+
+import de.team33.libs.classes.v1.Classes;
+import de.team33.libs.classes.v1.Lineage;
+import de.team33.libs.classes.v1.Overloads;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Fails the build when an optimized path regresses beyond a time or allocation budget on random graphs of each
+ * {@link GraphShape}.
+ * <p>
+ * The time budgets are an order of magnitude above the typical results on a single core, so they catch
+ * algorithmic regressions, like exponential traversals of diamond-heavy hierarchies, rather than noise. Still they
+ * depend on the machine, so they are only checked on demand (see {@link WallClock}).
+ * The allocation budgets are exact, apart from a fraction of a byte per call for measurement noise, and are always
+ * checked.
+ */
+public class PerformanceBudgetTest {
+
+    private static final int SIZE = 400;
+    private static final int WARMUPS = 20000;
+    private static final int ITERATIONS = 100000;
+    private static final int ROUNDS = 5;
+
+    private static final double COLD_BUDGET_MILLIS = 500;
+    private static final double WARM_BUDGET_NANOS = 5000;
+
+    /**
+     * Any allocation per call takes at least 16 bytes, so a fraction of a byte per call is measurement noise.
+     */
+    private static final double NOISE_BYTES = 0.5;
+
+    /**
+     * A cached {@link Overloads#resolve(Class[])} allocates a lookup key and an {@link java.util.Optional}.
+     */
+    private static final double RESOLVE_BYTES = 40;
+
+    private static double millis(final Runnable runnable) {
+        final long start = System.nanoTime();
+        runnable.run();
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    /**
+     * Returns the number of bytes the current thread allocates per call of a given operation, after warm-up.
+     * It is the least result of several rounds, as a round may partly run code that is not yet fully optimized,
+     * e.g. without escape analysis, depending on what other tests ran before.
+     */
+    private static double bytesPerCall(final IntPredicate operation) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("allocation measurement not available",
+                          (bean instanceof com.sun.management.ThreadMXBean)
+                                  && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        final long id = Thread.currentThread().getId();
+        int sink = 0;
+        for (int index = 0; index < WARMUPS; ++index) {
+            sink += operation.test(index) ? 1 : 0;
+        }
+        long least = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            final long before = threads.getThreadAllocatedBytes(id);
+            for (int index = 0; index < ITERATIONS; ++index) {
+                sink += operation.test(index) ? 1 : 0;
+            }
+            least = Math.min(least, threads.getThreadAllocatedBytes(id) - before);
+        }
+        assertTrue(0 <= sink);
+        return (double) least / ITERATIONS;
+    }
+
+    private static void assertBudget(final String message, final double budget, final double actual) {
+        assertTrue(String.format("%s: %.3f exceeds the budget of %.3f", message, actual, budget), actual <= budget);
+    }
+
+    private static void assertBytes(final String message, final double budget, final double actual) {
+        assertBudget(message, budget + NOISE_BYTES, actual);
+    }
+
+    @Test
+    @Category(WallClock.class)
+    public final void coldLineages() {
+        for (final GraphShape shape : GraphShape.values()) {
+            final List<Class<?>> graph = shape.define(new SyntheticClasses(), 1, SIZE);
+            assertBudget("cold Lineage.of (ms), " + shape, COLD_BUDGET_MILLIS,
+                         millis(() -> graph.forEach(Lineage::of)));
+        }
+    }
+
+    @Test
+    @Category(WallClock.class)
+    public final void warmQueries() {
+        for (final GraphShape shape : GraphShape.values()) {
+            final List<Class<?>> graph = shape.define(new SyntheticClasses(), 2, SIZE);
+            final Class<?> root = graph.get(0);
+            final Runnable queries = () -> {
+                for (int index = 0; index < ITERATIONS; ++index) {
+                    final Class<?> subject = graph.get(index % SIZE);
+                    Classes.optionalDistance(root, subject);
+                    Classes.isLineage(root, subject);
+                }
+            };
+            queries.run();
+            assertBudget("warm queries (ns/op), " + shape, WARM_BUDGET_NANOS,
+                         millis(queries) * 1e6 / ITERATIONS);
+        }
+    }
+
+    @Test
+    public final void allocationFree() {
+        for (final GraphShape shape : GraphShape.values()) {
+            final List<Class<?>> graph = shape.define(new SyntheticClasses(), 3, SIZE);
+            final Class<?> root = graph.get(0);
+            final Predicate<Class<?>> all = type -> true;
+            graph.forEach(subject -> Lineage.of(subject).forEachAncestor(Lineage.Order.NEAREST_FIRST, all));
+
+            assertBytes("Lineage.of (B/op), " + shape, 0,
+                         bytesPerCall(index -> null != Lineage.of(graph.get(index % SIZE))));
+            assertBytes("Lineage.distance (B/op), " + shape, 0,
+                         bytesPerCall(index -> 0 <= Lineage.of(graph.get(index % SIZE)).distance(root)));
+            assertBytes("Classes.isLineage (B/op), " + shape, 0,
+                         bytesPerCall(index -> Classes.isLineage(root, graph.get(index % SIZE))));
+            for (final Lineage.Order order : Lineage.Order.values()) {
+                assertBytes("Lineage.forEachAncestor (B/op), " + shape + ", " + order, 0,
+                             bytesPerCall(index -> Lineage.of(graph.get(index % SIZE)).forEachAncestor(order, all)));
+            }
+        }
+    }
+
+    @Test
+    public final void allocationCached() {
+        final Overloads<Method> overloads = Overloads.methods(StringBuilder.class, "append");
+        final Class<?>[] arguments = {String.class};
+        assertBytes("Overloads.resolve (B/op)", RESOLVE_BYTES,
+                     bytesPerCall(index -> overloads.resolve(arguments).isPresent()));
+    }
+}
@@ -0,0 +1,131 @@
+package de.team33.test.classes.v1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * A simple reference implementation of the lineage of a class, straight from the definitions and without any
+ * optimization, to check the library against. It is recursive, so it is only suitable for moderately deep
+ * hierarchies.
+ */
+public final class ReferenceLineage {
+
+    private final Class<?> subject;
+    private final List<Class<?>> hierarchy = new ArrayList<>();
+    private final Map<Class<?>, Integer> distances = new HashMap<>();
+
+    public ReferenceLineage(final Class<?> subject) {
+        this.subject = subject;
+        collect(subject, new LinkedHashSet<>());
+        measure();
+    }
+
+    /**
+     * The direct interfaces and, if any, the direct superclass of a given class.
+     */
+    public static List<Class<?>> superior(final Class<?> type) {
+        final List<Class<?>> result = new ArrayList<>(Arrays.asList(type.getInterfaces()));
+        if (null != type.getSuperclass()) {
+            result.add(type.getSuperclass());
+        }
+        return result;
+    }
+
+    /**
+     * The superclass chain of a given class, from the root down to the class itself.
+     */
+    public static List<Class<?>> superclasses(final Class<?> type) {
+        final List<Class<?>> result = (null == type.getSuperclass())
+                ? new ArrayList<>()
+                : superclasses(type.getSuperclass());
+        result.add(type);
+        return result;
+    }
+
+    /**
+     * The length of the longest path from a given class to a root of its hierarchy.
+     */
+    public static int depth(final Class<?> type, final Map<Class<?>, Integer> memo) {
+        final Integer known = memo.get(type);
+        if (null != known) {
+            return known;
+        }
+        int result = 0;
+        for (final Class<?> superType : superior(type)) {
+            result = Math.max(result, depth(superType, memo) + 1);
+        }
+        memo.put(type, result);
+        return result;
+    }
+
+    /**
+     * Post-order depth-first search over the superior of each class, visiting each class once.
+     */
+    private void collect(final Class<?> type, final Set<Class<?>> visited) {
+        if (visited.add(type)) {
+            for (final Class<?> superType : superior(type)) {
+                collect(superType, visited);
+            }
+            hierarchy.add(type);
+        }
+    }
+
+    /**
+     * Breadth-first search from the subject.
+     */
+    private void measure() {
+        final Queue<Class<?>> queue = new ArrayDeque<>();
+        distances.put(subject, 0);
+        queue.add(subject);
+        while (!queue.isEmpty()) {
+            final Class<?> type = queue.remove();
+            for (final Class<?> superType : superior(type)) {
+                if (!distances.containsKey(superType)) {
+                    distances.put(superType, distances.get(type) + 1);
+                    queue.add(superType);
+                }
+            }
+        }
+    }
+
+    /**
+     * The distinct classes of the lineage hierarchy, any class preceding its subclasses, finally the subject.
+     */
+    public final List<Class<?>> hierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * The distance of a given class, or -1 if it is not part of the hierarchy.
+     */
+    public final int distance(final Class<?> type) {
+        return distances.getOrDefault(type, -1);
+    }
+
+    /**
+     * The classes of the hierarchy by ascending distance, classes before interfaces on equal distance, otherwise
+     * in the order of {@link #hierarchy()}.
+     */
+    public final List<Class<?>> nearestFirst() {
+        final List<Class<?>> result = new ArrayList<>(hierarchy);
+        result.sort(Comparator.comparingInt(this::distance).thenComparing(Class::isInterface));
+        return result;
+    }
+
+    /**
+     * All classes before all interfaces, each ordered like {@link #nearestFirst()}.
+     */
+    public final List<Class<?>> superclassesFirst() {
+        final List<Class<?>> result = nearestFirst();
+        result.sort(Comparator.comparing(Class::isInterface));
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package de.team33.test.classes.v1;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Utility to build sets of expected elements in tests.
+ */
+final class Sets {
+
+    private Sets() {
+    }
+
+    /**
+     * Returns a new, modifiable set of the given elements.
+     */
+    @SafeVarargs
+    static <T> Set<T> setOf(final T... elements) {
+        final Set<T> result = new HashSet<>(elements.length * 2);
+        for (final T element : elements) {
+            result.add(element);
+        }
+        return result;
+    }
+}
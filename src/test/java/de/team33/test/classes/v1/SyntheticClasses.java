@@ -0,0 +1,184 @@
+package de.team33.test.classes.v1;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defines synthetic classes and interfaces at runtime, e.g. to build deep or wide class hierarchies for testing
+ * purposes. The class files are generated directly, so neither a compiler nor any other tool is needed.
+ * <p>
+ * The generated types have no members. Classes can't be instantiated, but their hierarchy is fully accessible via
+ * reflection.
+ */
+public class SyntheticClasses extends ClassLoader {
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final String PACKAGE = "de.team33.test.classes.v1.synthetic.";
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    public SyntheticClasses() {
+        super(SyntheticClasses.class.getClassLoader());
+    }
+
+    private static String internal(final Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static byte[] classFile(final String name, final int access,
+                                    final Class<?> superClass, final Class<?>[] interfaces) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(5 + 2 * interfaces.length);
+            writeClassEntry(out, name.replace('.', '/'), 1);
+            writeClassEntry(out, internal(superClass), 3);
+            for (int index = 0; index < interfaces.length; ++index) {
+                writeClassEntry(out, internal(interfaces[index]), 5 + 2 * index);
+            }
+            out.writeShort(access);
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(interfaces.length);
+            for (int index = 0; index < interfaces.length; ++index) {
+                out.writeShort(6 + 2 * index);
+            }
+            out.writeShort(0); // fields
+            out.writeShort(0); // methods
+            out.writeShort(0); // attributes
+            out.flush();
+            return bytes.toByteArray();
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static void writeClassEntry(final DataOutputStream out, final String name, final int utf8Index)
+            throws IOException {
+        out.writeByte(1); // CONSTANT_Utf8
+        out.writeUTF(name);
+        out.writeByte(7); // CONSTANT_Class
+        out.writeShort(utf8Index);
+    }
+
+    private Class<?> define(final String kind, final int access,
+                            final Class<?> superClass, final Class<?>[] interfaces) {
+        final String name = PACKAGE + kind + counter.incrementAndGet();
+        final byte[] bytes = classFile(name, access, superClass, interfaces);
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Defines a new interface that extends the given interfaces.
+     */
+    public final Class<?> newInterface(final Class<?>... interfaces) {
+        return define("I", ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, Object.class, interfaces);
+    }
+
+    /**
+     * Defines a new class that extends a given superclass and implements the given interfaces.
+     */
+    public final Class<?> newClass(final Class<?> superClass, final Class<?>... interfaces) {
+        return define("C", ACC_PUBLIC | ACC_SUPER, superClass, interfaces);
+    }
+
+    /**
+     * Defines a chain of {@code depth} classes, each extending the previous one, and returns the last one.
+     */
+    public final Class<?> deepClasses(final int depth) {
+        Class<?> result = Object.class;
+        for (int index = 0; index < depth; ++index) {
+            result = newClass(result);
+        }
+        return result;
+    }
+
+    /**
+     * Defines a chain of {@code depth} interfaces, each extending the previous one, and returns the last one.
+     */
+    public final Class<?> deepInterfaces(final int depth) {
+        Class<?> result = newInterface();
+        for (int index = 1; index < depth; ++index) {
+            result = newInterface(result);
+        }
+        return result;
+    }
+
+    /**
+     * Defines {@code layers} layers of {@code width} interfaces each, where every interface extends all interfaces
+     * of the previous layer, and finally a class that implements all interfaces of the last layer.
+     * The number of paths through such a hierarchy grows exponentially with the number of layers, while the
+     * number of distinct types grows linear.
+     * <p>
+     * <em>Note: The JVM itself needs considerably more time to define such interfaces when {@code width} is greater
+     * than two.</em>
+     */
+    public final Class<?> diamonds(final int layers, final int width) {
+        Class<?>[] layer = new Class<?>[0];
+        for (int level = 0; level < layers; ++level) {
+            final Class<?>[] next = new Class<?>[width];
+            for (int index = 0; index < width; ++index) {
+                next[index] = newInterface(layer);
+            }
+            layer = next;
+        }
+        return newClass(Object.class, layer);
+    }
+
+    /**
+     * Defines a random graph of {@code size} classes and interfaces and returns them in the order of their
+     * definition, so any type is preceded by its superordinate types, except for {@link Object}.
+     * <p>
+     * Each new type is an interface with a probability of {@code interfacePercent} percent. A new class extends a
+     * random one of the {@code window} most recently defined classes (initially {@link Object}). Any new type
+     * extends or implements one up to {@code maxInterfaces} distinct random ones of the {@code window} most
+     * recently defined interfaces, as far as available.
+     * <p>
+     * So a small {@code window} results in deep hierarchies, a high {@code maxInterfaces} in wide ones and both
+     * together in diamond-heavy ones. The same arguments, including the state of {@code random}, always result in
+     * the same structure.
+     */
+    public final List<Class<?>> randomGraph(final Random random, final int size, final int interfacePercent,
+                                            final int maxInterfaces, final int window) {
+        final List<Class<?>> classes = new ArrayList<>(Collections.singletonList(Object.class));
+        final List<Class<?>> interfaces = new ArrayList<>();
+        final List<Class<?>> result = new ArrayList<>(size);
+        for (int index = 0; index < size; ++index) {
+            final Class<?>[] superInterfaces = pick(random, recent(interfaces, window),
+                                                    1 + random.nextInt(maxInterfaces));
+            final Class<?> type;
+            if (random.nextInt(100) < interfacePercent) {
+                type = newInterface(superInterfaces);
+                interfaces.add(type);
+            } else {
+                final List<Class<?>> superClasses = recent(classes, window);
+                type = newClass(superClasses.get(random.nextInt(superClasses.size())), superInterfaces);
+                classes.add(type);
+            }
+            result.add(type);
+        }
+        return result;
+    }
+
+    private static List<Class<?>> recent(final List<Class<?>> types, final int window) {
+        return types.subList(Math.max(0, types.size() - window), types.size());
+    }
+
+    private static Class<?>[] pick(final Random random, final List<Class<?>> candidates, final int count) {
+        final List<Class<?>> shuffled = new ArrayList<>(candidates);
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(count, shuffled.size())).toArray(new Class<?>[0]);
+    }
+}
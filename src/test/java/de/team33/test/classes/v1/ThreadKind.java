@@ -0,0 +1,71 @@
+package de.team33.test.classes.v1;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The kinds of threads concurrency tests and harnesses may run their tasks on.
+ */
+public enum ThreadKind {
+
+    /**
+     * Platform threads, a fixed pool of as many threads as tasks are expected.
+     */
+    PLATFORM {
+        @Override
+        public ExecutorService newExecutor(final int threads) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    },
+
+    /**
+     * Virtual threads, one per task. Only available on a Java runtime that supports them (Java 21+), which is
+     * determined via reflection, so the code still compiles and runs on Java 8.
+     */
+    VIRTUAL {
+        @Override
+        public ExecutorService newExecutor(final int threads) {
+            if (!isAvailable())
+                throw new UnsupportedOperationException("virtual threads are not available");
+            try {
+                return (ExecutorService) Virtual.NEW_EXECUTOR.invoke(null);
+            } catch (final IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return null != Virtual.NEW_EXECUTOR;
+        }
+    };
+
+    /**
+     * Returns a new {@link ExecutorService} that runs at least a given number of tasks concurrently.
+     *
+     * @throws UnsupportedOperationException if this kind of threads is not {@link #isAvailable() available}.
+     */
+    public abstract ExecutorService newExecutor(final int threads);
+
+    /**
+     * Determines whether this kind of threads is available on the current Java runtime.
+     */
+    public boolean isAvailable() {
+        return true;
+    }
+
+    private static final class Virtual {
+
+        private static final Method NEW_EXECUTOR = newExecutorMethod();
+
+        private static Method newExecutorMethod() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
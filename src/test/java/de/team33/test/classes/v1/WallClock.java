@@ -0,0 +1,11 @@
+package de.team33.test.classes.v1;
+
+/**
+ * JUnit category of tests that assert wall-clock time budgets. They depend on the speed and load of the machine, so
+ * they are excluded from the default build and run on demand with the {@code wall-clock} profile ...
+ * <pre>
+ *     mvn -Pwall-clock test
+ * </pre>
+ */
+public interface WallClock {
+}
@@ -0,0 +1,14 @@
+package de.team33.test.classes.v1.foreign;
+
+/**
+ * A class with a package private method, which classes of other packages can't override.
+ */
+@SuppressWarnings("unused")
+public class ForeignBase {
+
+    void hidden() {
+    }
+
+    public void visible() {
+    }
+}